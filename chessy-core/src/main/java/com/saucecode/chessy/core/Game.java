@@ -10,11 +10,16 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.log4j.Logger;
 
 import com.saucecode.chessy.core.logic.Board;
+import com.saucecode.chessy.core.logic.SearchControl;
+import com.saucecode.chessy.core.logic.SearchExecutor;
+import com.saucecode.chessy.core.logic.SearchResult;
+import com.saucecode.chessy.core.logic.TranspositionTable;
 import com.saucecode.chessy.core.util.BoundedIntegerProperty;
 
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.ReadOnlyDoubleProperty;
@@ -89,12 +94,30 @@ public class Game implements GameI {
 
 	private final HashMap<Position, ReadOnlyObjectWrapper<FieldI>> fieldMap = new HashMap<>();
 
-	private final SimpleBooleanProperty multiThreaded = new SimpleBooleanProperty(MULTI_THREADED_STD);
+	private final BoundedIntegerProperty threads = new BoundedIntegerProperty(THREADS_STD, THREADS_MIN, THREADS_MAX);
+
+	private final SimpleObjectProperty<ParallelMode> parallelMode = new SimpleObjectProperty<>(PARALLEL_MODE_STD);
+
+	private final SimpleObjectProperty<SearchMode> searchMode = new SimpleObjectProperty<>(SEARCH_MODE_STD);
+
+	private final BoundedIntegerProperty hashSize = new BoundedIntegerProperty(HASH_SIZE_STD, HASH_SIZE_MIN,
+			HASH_SIZE_MAX);
+
+	private TranspositionTable table;
+
+	private SearchExecutor executor;
+
+	private volatile SearchControl control;
+
+	private volatile Thread aiThread;
 
 	private final SimpleBooleanProperty aiBlackActive = new SimpleBooleanProperty(BLACK_AI_STD);
 
 	private final BoundedIntegerProperty aiBlackPly = new BoundedIntegerProperty(PLY_STD, PLY_MIN, PLY_MAX);
 
+	private final BoundedIntegerProperty timePerMove = new BoundedIntegerProperty(TIME_PER_MOVE_STD,
+			TIME_PER_MOVE_MIN, TIME_PER_MOVE_MAX);
+
 	private final AtomicBoolean locked = new AtomicBoolean(true);
 	
 //	private final ReadOnlyBooleanWrapper locked = new ReadOnlyBooleanWrapper(true);
@@ -260,28 +283,70 @@ public class Game implements GameI {
 		}
 	}
 
+	/**
+	 * Returns the transposition table shared by all A.I. operations. It is (re)created if it does not exist yet or if
+	 * its size has changed.
+	 *
+	 * @return the transposition table
+	 */
+	private TranspositionTable getTranspositionTable() {
+		if (table == null || table.getMegabytes() != hashSize.get()) {
+			table = new TranspositionTable(hashSize.get());
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the executor shared by all A.I. operations. It is (re)created if it does not exist yet or if the number
+	 * of threads has changed.
+	 *
+	 * @return the search executor
+	 */
+	private SearchExecutor getSearchExecutor() {
+		if (executor == null || executor.getThreads() != threads.get()) {
+			if (executor != null) {
+				executor.shutdown();
+			}
+			executor = new SearchExecutor(threads.get());
+		}
+		return executor;
+	}
+
 	/**
 	 * Makes a move on the current board, using an AI.
 	 *
 	 * @param ply number of plies the A.I shall look ahead
 	 */
 	private void move(int ply) {
+		final long time = timePerMove.get();
+		final SearchControl searchControl = new SearchControl((time > 0) ? System.currentTimeMillis() + time : 0L);
+		control = searchControl;
 		final Task<Void> task = new Task<>() {
 			@Override
 			protected Void call() throws Exception {
 				logger.debug("started");
 				final long timeStart = System.currentTimeMillis();
 				Platform.runLater(() -> busy.set(true)); // TODO sollte nicht sein
-				Board temp = null;
 				final AtomicInteger count = new AtomicInteger();
-				temp = board.get().getMax(ply, progress, multiThreaded.get(), count);
-				if (temp != null) {
-					for (int i = 0; i < ply - 1; i++) {
-						temp = temp.getPrevious();
-					}
+				final SearchResult result = board.get().getMax(ply, searchControl,
+						value -> Platform.runLater(() -> progress.set(value)), getSearchExecutor(), parallelMode.get(),
+						searchMode.get(), getTranspositionTable(), count);
+				if (searchControl.isCancelled()) {
+					aiMove.set(false);
+					unlock();
+					Platform.runLater(() -> busy.set(false));
+					logger.debug("cancelled");
+					return null;
+				}
+				if (result != null) {
+					logger.debug("score " + result.getScore() + ", principal variation " + result);
+					final Board next = board.get().move(result.getMove());
 					aiMove.set(false);
 					history.push(board.get());
-					board.set(temp);
+					board.set(next);
+				} else {
+					aiMove.set(false);
+					unlock();
 				}
 				final long timeEnd = System.currentTimeMillis();
 				final long timeDiff = timeEnd - timeStart;
@@ -295,11 +360,40 @@ public class Game implements GameI {
 				return null;
 			}
 		};
+		task.setOnFailed(event -> {
+			logger.error("the A.I. failed", task.getException());
+			aiMove.set(false);
+			busy.set(false);
+			unlock();
+		});
 		final Thread thread = new Thread(task);
 		thread.setDaemon(true);
+		aiThread = thread;
 		thread.start();
 	}
 
+	@Override
+	public void stop() {
+		final SearchControl searchControl = control;
+		if (searchControl != null) {
+			searchControl.cancel();
+		}
+		final Thread thread = aiThread;
+		if (thread != null && thread != Thread.currentThread()) {
+			try {
+				thread.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			// the operation may have made its move just before it was cancelled, which only unlocks the game later on
+			// the JavaFX application thread
+			aiMove.set(false);
+			unlock();
+		}
+		control = null;
+		aiThread = null;
+	}
+
 	@Override
 	public String toString() {
 		return board.get().toString();
@@ -365,8 +459,14 @@ public class Game implements GameI {
 		return currentPlayer.getReadOnlyProperty();
 	}
 	
+	/**
+	 * Returns the player to move on the current board. Unlike {@link #currentPlayerProperty()}, which is updated on the
+	 * JavaFX application thread, it reflects a move as soon as it has been made.
+	 *
+	 * @return the player to move
+	 */
 	public Player getCurrentPlayer() {
-		return currentPlayer.get();
+		return board.get().getCurrentPlayer();
 	}
 
 	@Override
@@ -395,8 +495,23 @@ public class Game implements GameI {
 	}
 
 	@Override
-	public BooleanProperty multiThreadedProperty() {
-		return multiThreaded;
+	public IntegerProperty threadsProperty() {
+		return threads;
+	}
+
+	@Override
+	public ObjectProperty<ParallelMode> parallelModeProperty() {
+		return parallelMode;
+	}
+
+	@Override
+	public ObjectProperty<SearchMode> searchModeProperty() {
+		return searchMode;
+	}
+
+	@Override
+	public IntegerProperty hashSizeProperty() {
+		return hashSize;
 	}
 
 	@Override
@@ -404,6 +519,11 @@ public class Game implements GameI {
 		return aiBlackPly;
 	}
 
+	@Override
+	public IntegerProperty timePerMoveProperty() {
+		return timePerMove;
+	}
+
 	@Override
 	public ReadOnlyIntegerProperty calculatedMovesProperty() {
 		return calculatedMoves.getReadOnlyProperty();
@@ -440,6 +560,7 @@ public class Game implements GameI {
 
 	@Override
 	public void undo() {
+		stop();
 		lock();
 		if (history.size() > 0) {
 			unselect();
@@ -450,6 +571,7 @@ public class Game implements GameI {
 
 	@Override
 	public void reset() {
+		stop();
 		lock();
 		if (resetEnabled.get()) {
 			history.clear();
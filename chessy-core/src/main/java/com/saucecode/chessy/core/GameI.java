@@ -2,6 +2,7 @@ package com.saucecode.chessy.core;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.beans.property.ReadOnlyIntegerProperty;
@@ -22,7 +23,7 @@ public interface GameI {
 	 *
 	 * @since 1.0.0
 	 */
-	int PLY_STD = 4;
+	int PLY_STD = 6;
 
 	/**
 	 * Minimum value for {@link #aiBlackPlyProperty()}.
@@ -36,7 +37,28 @@ public interface GameI {
 	 *
 	 * @since 1.0.0
 	 */
-	int PLY_MAX = 5;
+	int PLY_MAX = 8;
+
+	/**
+	 * Default value for {@link #timePerMoveProperty()} in milliseconds.
+	 *
+	 * @since 1.0.0
+	 */
+	int TIME_PER_MOVE_STD = 5_000;
+
+	/**
+	 * Minimum value for {@link #timePerMoveProperty()} in milliseconds, meaning no limit.
+	 *
+	 * @since 1.0.0
+	 */
+	int TIME_PER_MOVE_MIN = 0;
+
+	/**
+	 * Maximum value for {@link #timePerMoveProperty()} in milliseconds.
+	 *
+	 * @since 1.0.0
+	 */
+	int TIME_PER_MOVE_MAX = 60_000;
 
 	/**
 	 * Default value for {@link #aiBlackActiveProperty()}.
@@ -46,11 +68,60 @@ public interface GameI {
 	boolean BLACK_AI_STD = true;
 
 	/**
-	 * Default value for {@link #multiThreadedProperty()}.
+	 * Default value for {@link #threadsProperty()}, which is the number of available processors.
+	 *
+	 * @since 1.0.0
+	 */
+	int THREADS_STD = Math.min(Runtime.getRuntime().availableProcessors(), 256);
+
+	/**
+	 * Minimum value for {@link #threadsProperty()}.
+	 *
+	 * @since 1.0.0
+	 */
+	int THREADS_MIN = 1;
+
+	/**
+	 * Maximum value for {@link #threadsProperty()}.
+	 *
+	 * @since 1.0.0
+	 */
+	int THREADS_MAX = 256;
+
+	/**
+	 * Default value for {@link #parallelModeProperty()}.
+	 *
+	 * @since 1.0.0
+	 */
+	ParallelMode PARALLEL_MODE_STD = ParallelMode.ROOT_SPLIT;
+
+	/**
+	 * Default value for {@link #searchModeProperty()}.
+	 *
+	 * @since 1.0.0
+	 */
+	SearchMode SEARCH_MODE_STD = SearchMode.PRINCIPAL_VARIATION;
+
+	/**
+	 * Default value for {@link #hashSizeProperty()} in megabytes.
 	 *
 	 * @since 1.0.0
 	 */
-	boolean MULTI_THREADED_STD = true;
+	int HASH_SIZE_STD = 16;
+
+	/**
+	 * Minimum value for {@link #hashSizeProperty()} in megabytes.
+	 *
+	 * @since 1.0.0
+	 */
+	int HASH_SIZE_MIN = 1;
+
+	/**
+	 * Maximum value for {@link #hashSizeProperty()} in megabytes.
+	 *
+	 * @since 1.0.0
+	 */
+	int HASH_SIZE_MAX = 1024;
 
 	/**
 	 * Returns the read-only board value white property.
@@ -236,6 +307,17 @@ public interface GameI {
 	 */
 	IntegerProperty aiBlackPlyProperty();
 
+	/**
+	 * Returns the time per move property in milliseconds. The A.I. deepens its search ply by ply up to
+	 * {@link #aiBlackPlyProperty()}, but does not start another ply once half of this time has passed and stops
+	 * searching once all of it has passed. {@code 0} means no limit.
+	 *
+	 * @return time per move property
+	 *
+	 * @since 1.0.0
+	 */
+	IntegerProperty timePerMoveProperty();
+
 	/**
 	 * Returns the A.I. black active property.
 	 *
@@ -246,13 +328,42 @@ public interface GameI {
 	BooleanProperty aiBlackActiveProperty();
 
 	/**
-	 * Returns the multi threaded property.
+	 * Returns the property for the number of threads used by the A.I. Changing this during an A.I. operation has no
+	 * effect.
 	 *
-	 * @return multi threaded property
+	 * @return number of threads property
 	 *
 	 * @since 1.0.0
 	 */
-	BooleanProperty multiThreadedProperty();
+	IntegerProperty threadsProperty();
+
+	/**
+	 * Returns the parallel mode property. Changing this during an A.I. operation has no effect.
+	 *
+	 * @return parallel mode property
+	 *
+	 * @since 1.0.0
+	 */
+	ObjectProperty<ParallelMode> parallelModeProperty();
+
+	/**
+	 * Returns the search mode property. Changing this during an A.I. operation has no effect.
+	 *
+	 * @return search mode property
+	 *
+	 * @since 1.0.0
+	 */
+	ObjectProperty<SearchMode> searchModeProperty();
+
+	/**
+	 * Returns the transposition table size property in megabytes. Changing this during an A.I. operation takes effect
+	 * with the next A.I. operation.
+	 *
+	 * @return transposition table size property
+	 *
+	 * @since 1.0.0
+	 */
+	IntegerProperty hashSizeProperty();
 	
 	// TODO
 	boolean isLocked();
@@ -279,6 +390,15 @@ public interface GameI {
 	 */
 	void reset();
 
+	/**
+	 * Stops a running A.I. operation and waits for all of its threads to finish, which takes only milliseconds. The
+	 * result of the operation is discarded, unless it has already made its move. Either way, the game accepts input
+	 * again afterwards. {@link #undo()} and {@link #reset()} do this implicitly.
+	 *
+	 * @since 1.0.0
+	 */
+	void stop();
+
 	/**
 	 * Selects a field.
 	 *
@@ -0,0 +1,37 @@
+package com.saucecode.chessy.core;
+
+/**
+ * All ways of the A.I. to distribute a search over multiple threads.
+ *
+ * @since 1.0.0
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public enum ParallelMode {
+
+	/**
+	 * Searches within a single thread, ignoring the number of threads.
+	 *
+	 * @since 1.0.0
+	 */
+	SINGLE_THREADED,
+
+	/**
+	 * Splits the root moves among all threads by work stealing, once the first root move has been searched. The score
+	 * of the first move serves as alpha for all other root moves, so no window depends on which threads have finished
+	 * before, and the same move is chosen as by {@link #SINGLE_THREADED}.
+	 *
+	 * @since 1.0.0
+	 */
+	ROOT_SPLIT,
+
+	/**
+	 * Runs an iterative deepening of the whole tree within every thread during the whole search, using slightly
+	 * different depths and move orders. The threads only communicate through the shared transposition table, so this
+	 * mode needs any search mode but {@link SearchMode#MINIMAX}.
+	 *
+	 * @since 1.0.0
+	 */
+	LAZY_SMP,
+
+}
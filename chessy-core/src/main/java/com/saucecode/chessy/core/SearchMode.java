@@ -0,0 +1,44 @@
+package com.saucecode.chessy.core;
+
+/**
+ * All search algorithms of the A.I.
+ *
+ * @since 1.0.0
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public enum SearchMode {
+
+	/**
+	 * Full width search without any pruning.
+	 *
+	 * @since 1.0.0
+	 */
+	MINIMAX,
+
+	/**
+	 * Alpha-beta search, which returns the same move as {@link #MINIMAX} while skipping branches which cannot change
+	 * the result.
+	 *
+	 * @since 1.0.0
+	 */
+	ALPHA_BETA,
+
+	/**
+	 * Alpha-beta search, which additionally prunes and reduces branches which are unlikely to change the result, like
+	 * null-move pruning, late move reductions and futility pruning, and extends checks. It reaches deeper than
+	 * {@link #ALPHA_BETA} in the same time, but may return a different move.
+	 *
+	 * @since 1.0.0
+	 */
+	SELECTIVE,
+
+	/**
+	 * Principal variation search, which prunes like {@link #SELECTIVE}, but searches all moves after the first one of
+	 * a node with a null window first. Only moves which turn out to be better are searched again with the full window.
+	 *
+	 * @since 1.0.0
+	 */
+	PRINCIPAL_VARIATION,
+
+}
@@ -17,12 +17,12 @@ public class Bishop extends Figure {
 	/**
 	 * The base value.
 	 */
-	private final static int VALUE = 330;
+	public final static int VALUE = 330;
 
 	/**
 	 * The evaluation matrix.
 	 */
-	private final static int[][] EVAL = {
+	public final static int[][] EVAL = {
 			// @formatter:off
 			{ -20, -10, -10, -10, -10, -10, -10, -20 },
 			{ -10,   5,  10,   0,   5,   0,   0, -10 },
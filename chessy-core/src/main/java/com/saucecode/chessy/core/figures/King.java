@@ -3,8 +3,10 @@ package com.saucecode.chessy.core.figures;
 import com.saucecode.chessy.core.FigureType;
 import com.saucecode.chessy.core.Player;
 import com.saucecode.chessy.core.Position;
+import com.saucecode.chessy.core.logic.Bitboard;
 import com.saucecode.chessy.core.logic.Board;
 import com.saucecode.chessy.core.logic.Figure;
+import com.saucecode.chessy.core.logic.Move;
 import com.saucecode.chessy.core.logic.State;
 
 /**
@@ -19,12 +21,12 @@ public class King extends Figure {
 	/**
 	 * The base value.
 	 */
-	private final static int VALUE = 0;
+	public final static int VALUE = 0;
 
 	/**
 	 * The evaluation matrix for mid game.
 	 */
-	private final static int[][] EVAL_MID_GAME = {
+	public final static int[][] EVAL_MID_GAME = {
 			// @formatter:off
 			{  20,  20, -10, -20, -30, -30, -30, -30 },
 			{  30,  20, -20, -30, -40, -40, -40, -40 },
@@ -40,7 +42,7 @@ public class King extends Figure {
 	/**
 	 * The evaluation matrix for late game..
 	 */
-	private final static int[][] EVAL_LATE_GAME = {
+	public final static int[][] EVAL_LATE_GAME = {
 			// @formatter:off
 			{ -50, -30, -30, -30, -30, -30, -30, -50 },
 			{ -30, -30, -10, -10, -10, -10, -20, -40 },
@@ -187,77 +189,61 @@ public class King extends Figure {
 	}
 
 	@Override
-	public Board move(int toX, int toY) {
-		Board ret = null;
-		if (isSquareReachable(toX, toY)) {
-			ret = board.clone();
-			ret.resetMarker();
-			ret.setFrom(new Position(x, y));
-			ret.setTo(new Position(toX, toY));
-			((King) ret.getFigure(x, y)).hasBeenMoved = true; // TODO stimmt das so?
-			ret.setFigure(toX, toY, ret.removeFigure(x, y));
-			ret.getFigure(toX, toY).setX(toX);
-			ret.getFigure(toX, toY).setY(toY);
-			if (Math.abs(toX - x) == 2) {
-				if (toX == 2) {
-					ret.setFigure(3, y, ret.removeFigure(0, y));
-					ret.getFigure(3, y).setX(3);
-				}
-				if (toX == 6) {
-					ret.setFigure(5, y, ret.removeFigure(7, y));
-					ret.getFigure(5, y).setX(5);
-				}
+	public int getMove(int toX, int toY) {
+		if (!isSquareReachable(toX, toY)) {
+			return Move.NONE;
+		}
+		return createMove(toX, toY, (Math.abs(toX - x) == 2) ? Move.CASTLING : Move.NORMAL);
+	}
+
+	@Override
+	protected Board move(int move) {
+		final int toX = Move.to(move) & 7;
+		final int toY = Move.to(move) >>> 3;
+		Board ret = board.clone();
+		ret.resetMarker();
+		ret.setFrom(new Position(x, y));
+		ret.setTo(new Position(toX, toY));
+		((King) ret.getFigure(x, y)).hasBeenMoved = true; // TODO stimmt das so?
+		ret.setFigure(toX, toY, ret.removeFigure(x, y));
+		ret.getFigure(toX, toY).setX(toX);
+		ret.getFigure(toX, toY).setY(toY);
+		if (Move.flag(move) == Move.CASTLING) {
+			if (toX == 2) {
+				ret.setFigure(3, y, ret.removeFigure(0, y));
+				ret.getFigure(3, y).setX(3);
 			}
-			ret.promote();
-			if (ret.isInCheck(ret.getCurrentPlayer())) {
-				ret = null;
-			} else {
-				ret.nextPlayer();
-				ret.updateStatus();
-				ret.evaluate();
+			if (toX == 6) {
+				ret.setFigure(5, y, ret.removeFigure(7, y));
+				ret.getFigure(5, y).setX(5);
 			}
 		}
+		ret.promote();
+		if (ret.isInCheck(ret.getCurrentPlayer())) {
+			ret = null;
+		} else {
+			ret.nextPlayer();
+			ret.updateStatus();
+			ret.verifyScores();
+		}
 		return ret;
 	}
 
-	/**
-	 * Calculates if the Game is close to the end. The game is close to the end if
-	 * <ul>
-	 * <li>Both sides have no queen.</li>
-	 * <li>Not yet implemented: Every side which has a queen has additionally no other pieces or one minorpiece (B, N)
-	 * maximum.</li>
-	 * </ul>
-	 *
-	 * @return {@code true}, if the game is close to the end
-	 */
-	private boolean isLateGame() {
-		// TODO implement second condition
-		return (board.getFigure(Queen.class, Player.BLACK) == null
-				&& board.getFigure(Queen.class, Player.WHITE) == null);
-	}
-
 	@Override
 	public int getValue() {
-		int value = King.VALUE;
+		final int rank;
 		switch (owner) {
 		case WHITE:
-			if (isLateGame()) {
-				value += EVAL_LATE_GAME[x][y];
-			} else {
-				value += EVAL_MID_GAME[x][y];
-			}
+			rank = y;
 			break;
 		case BLACK:
-			if (isLateGame()) {
-				value += EVAL_LATE_GAME[x][7 - y];
-			} else {
-				value += EVAL_MID_GAME[x][7 - y];
-			}
+			rank = 7 - y;
 			break;
 		default:
 			throw new IllegalArgumentException();
 		}
-		return value;
+		return Bitboard.taper(King.VALUE + EVAL_MID_GAME[x][rank], King.VALUE + EVAL_LATE_GAME[x][rank],
+				board.getBitboard().getPhase());
 	}
 
 	@Override
@@ -17,12 +17,12 @@ public class Knight extends Figure {
 	/**
 	 * The base value.
 	 */
-	private static final int VALUE = 320;
+	public static final int VALUE = 320;
 
 	/**
 	 * The evaluation matrix.
 	 */
-	private final static int[][] EVAL = {
+	public final static int[][] EVAL = {
 			// @formatter:off
 			{ -50, -40, -30, -30, -30, -30, -40, -50 },
 			{ -40, -20,   5,   0,   5,   0, -20, -40 },
@@ -3,8 +3,10 @@ package com.saucecode.chessy.core.figures;
 import com.saucecode.chessy.core.FigureType;
 import com.saucecode.chessy.core.Player;
 import com.saucecode.chessy.core.Position;
+import com.saucecode.chessy.core.logic.Bitboard;
 import com.saucecode.chessy.core.logic.Board;
 import com.saucecode.chessy.core.logic.Figure;
+import com.saucecode.chessy.core.logic.Move;
 
 /**
  * Represents a Pawn.
@@ -18,12 +20,12 @@ public class Pawn extends Figure {
 	/**
 	 * The base value.
 	 */
-	private final static int VALUE = 100;
+	public final static int VALUE = 100;
 
 	/**
 	 * The evaluation matrix.
 	 */
-	private final static int[][] EVAL = {
+	public final static int[][] EVAL = {
 			// @formatter:off
 			{   0,   5,   5,   0,   5,  10,  50,   0 },
 			{   0,  10,  -5,   0,   5,  10,  50,   0 },
@@ -36,16 +38,6 @@ public class Pawn extends Figure {
 			// @formatter:on
 	};
 
-	/**
-	 * -1, if the current move hasn't been a en passant. Takes the x-value of the captured piece.
-	 */
-	private int enPassant;
-
-	/**
-	 * -1, if the current move hasn't been a start move (needed for en passant).
-	 */
-	private int startMove;
-
 	/**
 	 * Creates a new {@link Bishop}.
 	 *
@@ -56,8 +48,6 @@ public class Pawn extends Figure {
 	 */
 	public Pawn(Player owner, Board board, int x, int y) {
 		super(owner, board, x, y);
-		enPassant = -1;
-		startMove = -1;
 	}
 
 	@Override
@@ -67,63 +57,59 @@ public class Pawn extends Figure {
 
 	@Override
 	protected boolean isSquareReachable(int toX, int toY) {
+		return getFlag(toX, toY) != -1;
+	}
 
+	/**
+	 * Returns the type of a move of this pawn. This method has no side effects.
+	 *
+	 * @param toX x-coordinate of target location
+	 * @param toY y-coordinate of target location
+	 * @return
+	 *         <ul>
+	 *         <li>{@link Move#NORMAL}, {@link Move#DOUBLE_PUSH}, {@link Move#EN_PASSANT} or {@link Move#PROMOTION}</li>
+	 *         <li>{@code -1}, if the target location is not reachable</li>
+	 *         </ul>
+	 */
+	private int getFlag(int toX, int toY) {
 		if (!super.isSquareReachable(toX, toY)) {
-			return false;
+			return -1;
 		}
+		final int direction = (owner == Player.WHITE) ? 1 : -1;
+		final int startY = (owner == Player.WHITE) ? 1 : 6;
+		final int lastY = (owner == Player.WHITE) ? 7 : 0;
+		final int enPassantY = (owner == Player.WHITE) ? 4 : 3;
 
 		// walking straight forward
 		if (toX == x && board.getFigure(toX, toY) == null) {
-
-			// if on start position, one and two in y is allowed
-			if ((owner == Player.WHITE && y == 1) || (owner == Player.BLACK && y == 6)) {
-
-				if ((owner == Player.WHITE && toY - 2 == y && board.getFigure(toX, toY - 1) == null) // wenn
-																										// feld
-																										// dazwischen
-																										// frei
-																										// ist
-						|| (owner == Player.BLACK && toY + 2 == y && board.getFigure(toX, toY + 1) == null)) {
-					startMove = x;
-					return true;
-				}
-
-				startMove = -1;
-			}
-
 			// if not on start position, one is allowed
-			if ((owner == Player.WHITE && toY - 1 == y) || (owner == Player.BLACK && toY + 1 == y)) {
-				return true;
+			if (toY == y + direction) {
+				return (toY == lastY) ? Move.PROMOTION : Move.NORMAL;
 			}
+			// if on start position, two are allowed, if the square in between is empty
+			if (y == startY && toY == y + 2 * direction && board.getFigure(toX, y + direction) == null) {
+				return Move.DOUBLE_PUSH;
+			}
+			return -1;
 		}
 
-		// capture an opponents piece
-		if (owner == Player.WHITE) {
-			if (Math.abs(x - toX) == 1 && y + 1 == toY
-					&& (board.getFigure(toX, toY) != null && board.getFigure(toX, toY).getOwner() == Player.BLACK)) {
-				return true;
-			}
-		} else {
-			if (Math.abs(x - toX) == 1 && y - 1 == toY
-					&& (board.getFigure(toX, toY) != null && board.getFigure(toX, toY).getOwner() == Player.WHITE)) {
-				return true;
-			}
+		if (Math.abs(x - toX) != 1 || toY != y + direction) {
+			return -1;
 		}
 
-		// en passant
-		if (board.getCurrentPlayer() == Player.BLACK) {
+		// capture an opponents piece
+		if (board.getFigure(toX, toY) != null) {
+			return (toY == lastY) ? Move.PROMOTION : Move.NORMAL;
+		}
 
-			if (board.getMarker(Player.WHITE) == toX && y == 3 && owner == Player.BLACK) {
-				enPassant = toX;
-				return true;
-			}
-		} else {
-			if (board.getMarker(Player.BLACK) == toX && y == 4 && owner == Player.WHITE) {
-				enPassant = toX;
-				return true;
-			}
+		// en passant: capture a pawn, which has just made a double push, by moving behind it
+		final Player opponent = (owner == Player.WHITE) ? Player.BLACK : Player.WHITE;
+		final Figure victim = board.getFigure(toX, y);
+		if (y == enPassantY && board.getCurrentPlayer() == owner && board.getMarker(opponent) == toX
+				&& victim instanceof Pawn && victim.getOwner() == opponent) {
+			return Move.EN_PASSANT;
 		}
-		return false;
+		return -1;
 	}
 
 	@Override
@@ -132,30 +118,41 @@ public class Pawn extends Figure {
 	}
 
 	@Override
-	public Board move(int toX, int toY) {
-		Board ret = null;
-		if (isSquareReachable(toX, toY)) {
-			ret = board.clone();
-			ret.resetMarker();
-			ret.setFrom(new Position(x, y));
-			ret.setTo(new Position(toX, toY));
-			if (enPassant != -1) {
-				ret.removeFigure(enPassant, y);
-			}
-			ret.setFigure(toX, toY, ret.removeFigure(x, y));
-			ret.getFigure(toX, toY).setX(toX);
-			ret.getFigure(toX, toY).setY(toY);
-			ret.setMarker(owner, startMove);
-			ret.promote();
-			if (ret.isInCheck(ret.getCurrentPlayer())) {
-				ret = null;
-			} else {
-				ret.nextPlayer();
-				ret.updateStatus();
-				ret.evaluate();
-			}
+	public int getMove(int toX, int toY) {
+		final int flag = getFlag(toX, toY);
+		if (flag == -1) {
+			return Move.NONE;
+		}
+		if (flag == Move.EN_PASSANT) {
+			return Move.create(Bitboard.square(x, y), Bitboard.square(toX, toY), Bitboard.piece(getFigureType()),
+					Bitboard.piece(board.getFigure(toX, y).getFigureType()), flag);
+		}
+		return createMove(toX, toY, flag);
+	}
+
+	@Override
+	protected Board move(int move) {
+		final int toX = Move.to(move) & 7;
+		final int toY = Move.to(move) >>> 3;
+		Board ret = board.clone();
+		ret.resetMarker();
+		ret.setFrom(new Position(x, y));
+		ret.setTo(new Position(toX, toY));
+		if (Move.flag(move) == Move.EN_PASSANT) {
+			ret.removeFigure(toX, y);
+		}
+		ret.setFigure(toX, toY, ret.removeFigure(x, y));
+		ret.getFigure(toX, toY).setX(toX);
+		ret.getFigure(toX, toY).setY(toY);
+		ret.setMarker(owner, (Move.flag(move) == Move.DOUBLE_PUSH) ? x : -1);
+		ret.promote();
+		if (ret.isInCheck(ret.getCurrentPlayer())) {
+			ret = null;
+		} else {
+			ret.nextPlayer();
+			ret.updateStatus();
+			ret.verifyScores();
 		}
-		enPassant = -1;
 		return ret;
 	}
 
@@ -192,34 +189,4 @@ public class Pawn extends Figure {
 		return "P" + super.getCode();
 	}
 
-	@Override
-	public int hashCode() {
-		final int prime = 31;
-		int result = super.hashCode();
-		result = prime * result + enPassant;
-		result = prime * result + startMove;
-		return result;
-	}
-
-	@Override
-	public boolean equals(Object obj) {
-		if (this == obj) {
-			return true;
-		}
-		if (!super.equals(obj)) {
-			return false;
-		}
-		if (getClass() != obj.getClass()) {
-			return false;
-		}
-		final Pawn other = (Pawn) obj;
-		if (enPassant != other.enPassant) {
-			return false;
-		}
-		if (startMove != other.startMove) {
-			return false;
-		}
-		return true;
-	}
-
 }
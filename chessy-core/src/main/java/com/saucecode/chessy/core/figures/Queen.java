@@ -17,12 +17,12 @@ public class Queen extends Figure {
 	/**
 	 * The base value.
 	 */
-	private final static int VALUE = 900;
+	public final static int VALUE = 900;
 
 	/**
 	 * The evaluation matrix.
 	 */
-	private final static int[][] EVAL = {
+	public final static int[][] EVAL = {
 			// @formatter:off
 			{ -20, -10, -10,   0,  -5, -10, -10, -20 },
 			{ -10,   0,   5,   0,   0,   0,   0, -10 },
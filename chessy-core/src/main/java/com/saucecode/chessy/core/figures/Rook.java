@@ -23,12 +23,12 @@ public class Rook extends Figure {
 	/**
 	 * The base value.
 	 */
-	private static final int VALUE = 500;
+	public static final int VALUE = 500;
 
 	/**
 	 * The evaluation matrix.
 	 */
-	private final static int[][] EVAL = {
+	public final static int[][] EVAL = {
 			// @formatter:off
 			{   0,  -5,  -5,  -5,  -5,  -5,   5,   0 },
 			{   0,   0,   0,   0,   0,   0,  10,   0 },
@@ -128,7 +128,6 @@ public class Rook extends Figure {
 		if (temp != null && temp.getFigure(toX, toY) != null) {
 			((Rook) temp.getFigure(toX, toY)).hasBeenMoved = true;
 			temp.updateStatus();
-			temp.evaluate();
 		}
 
 		return temp;
@@ -0,0 +1,222 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * Precomputed attack sets for all pieces, used by {@link Bitboard}. Squares are numbered {@code y * 8 + x}, so a1 is
+ * {@code 0} and h8 is {@code 63}.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class Attacks {
+
+	/**
+	 * Direction north (+y).
+	 */
+	public static final int NORTH = 0;
+
+	/**
+	 * Direction east (+x).
+	 */
+	public static final int EAST = 1;
+
+	/**
+	 * Direction north east (+x, +y).
+	 */
+	public static final int NORTH_EAST = 2;
+
+	/**
+	 * Direction north west (-x, +y).
+	 */
+	public static final int NORTH_WEST = 3;
+
+	/**
+	 * Direction south (-y).
+	 */
+	public static final int SOUTH = 4;
+
+	/**
+	 * Direction west (-x).
+	 */
+	public static final int WEST = 5;
+
+	/**
+	 * Direction south west (-x, -y).
+	 */
+	public static final int SOUTH_WEST = 6;
+
+	/**
+	 * Direction south east (+x, -y).
+	 */
+	public static final int SOUTH_EAST = 7;
+
+	/**
+	 * X-offsets of all directions.
+	 */
+	private static final int[] DIR_X = { 0, 1, 1, -1, 0, -1, -1, 1 };
+
+	/**
+	 * Y-offsets of all directions.
+	 */
+	private static final int[] DIR_Y = { 1, 0, 1, 1, -1, 0, -1, -1 };
+
+	/**
+	 * Rays for every direction and square, not including the square itself.
+	 */
+	private static final long[][] RAYS = new long[8][64];
+
+	/**
+	 * Knight attacks for every square.
+	 */
+	private static final long[] KNIGHT = new long[64];
+
+	/**
+	 * King attacks for every square.
+	 */
+	private static final long[] KING = new long[64];
+
+	/**
+	 * Pawn attacks for every color and square.
+	 */
+	private static final long[][] PAWN = new long[2][64];
+
+	static {
+		final int[][] knightJumps = { { 1, 2 }, { 2, 1 }, { 2, -1 }, { 1, -2 }, { -1, -2 }, { -2, -1 }, { -2, 1 },
+				{ -1, 2 } };
+		for (int square = 0; square < 64; square++) {
+			final int x = square & 7;
+			final int y = square >>> 3;
+			for (int dir = 0; dir < 8; dir++) {
+				for (int i = 1; isOnBoard(x + i * DIR_X[dir], y + i * DIR_Y[dir]); i++) {
+					RAYS[dir][square] |= bit(x + i * DIR_X[dir], y + i * DIR_Y[dir]);
+				}
+				if (isOnBoard(x + DIR_X[dir], y + DIR_Y[dir])) {
+					KING[square] |= bit(x + DIR_X[dir], y + DIR_Y[dir]);
+				}
+				if (isOnBoard(x + knightJumps[dir][0], y + knightJumps[dir][1])) {
+					KNIGHT[square] |= bit(x + knightJumps[dir][0], y + knightJumps[dir][1]);
+				}
+			}
+			for (int dx = -1; dx <= 1; dx += 2) {
+				if (isOnBoard(x + dx, y + 1)) {
+					PAWN[Bitboard.WHITE][square] |= bit(x + dx, y + 1);
+				}
+				if (isOnBoard(x + dx, y - 1)) {
+					PAWN[Bitboard.BLACK][square] |= bit(x + dx, y - 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Not instantiable.
+	 */
+	private Attacks() {
+	}
+
+	/**
+	 * Returns whether a coordinate lies on the board.
+	 *
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return {@code true}, if the coordinate is on the board
+	 */
+	private static boolean isOnBoard(int x, int y) {
+		return x >= 0 && x < 8 && y >= 0 && y < 8;
+	}
+
+	/**
+	 * Returns the single bit mask of a coordinate.
+	 *
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return bit mask of the square
+	 */
+	private static long bit(int x, int y) {
+		return 1L << (y * 8 + x);
+	}
+
+	/**
+	 * Returns the squares reachable from a square in one direction, up to and including the first blocker.
+	 *
+	 * @param dir      the direction
+	 * @param square   the origin square
+	 * @param occupied all occupied squares
+	 * @return attacked squares in that direction
+	 */
+	public static long ray(int dir, int square, long occupied) {
+		long attacks = RAYS[dir][square];
+		final long blockers = attacks & occupied;
+		if (blockers != 0) {
+			final int blocker = (dir < SOUTH) ? Long.numberOfTrailingZeros(blockers)
+					: 63 - Long.numberOfLeadingZeros(blockers);
+			attacks ^= RAYS[dir][blocker];
+		}
+		return attacks;
+	}
+
+	/**
+	 * Returns the squares attacked by a rook.
+	 *
+	 * @param square   square of the rook
+	 * @param occupied all occupied squares
+	 * @return attacked squares
+	 */
+	public static long rook(int square, long occupied) {
+		return ray(NORTH, square, occupied) | ray(EAST, square, occupied) | ray(SOUTH, square, occupied)
+				| ray(WEST, square, occupied);
+	}
+
+	/**
+	 * Returns the squares attacked by a bishop.
+	 *
+	 * @param square   square of the bishop
+	 * @param occupied all occupied squares
+	 * @return attacked squares
+	 */
+	public static long bishop(int square, long occupied) {
+		return ray(NORTH_EAST, square, occupied) | ray(NORTH_WEST, square, occupied)
+				| ray(SOUTH_WEST, square, occupied) | ray(SOUTH_EAST, square, occupied);
+	}
+
+	/**
+	 * Returns the squares attacked by a queen.
+	 *
+	 * @param square   square of the queen
+	 * @param occupied all occupied squares
+	 * @return attacked squares
+	 */
+	public static long queen(int square, long occupied) {
+		return rook(square, occupied) | bishop(square, occupied);
+	}
+
+	/**
+	 * Returns the squares attacked by a knight.
+	 *
+	 * @param square square of the knight
+	 * @return attacked squares
+	 */
+	public static long knight(int square) {
+		return KNIGHT[square];
+	}
+
+	/**
+	 * Returns the squares attacked by a king.
+	 *
+	 * @param square square of the king
+	 * @return attacked squares
+	 */
+	public static long king(int square) {
+		return KING[square];
+	}
+
+	/**
+	 * Returns the squares attacked by a pawn.
+	 *
+	 * @param color  color of the pawn
+	 * @param square square of the pawn
+	 * @return attacked squares
+	 */
+	public static long pawn(int color, int square) {
+		return PAWN[color][square];
+	}
+
+}
@@ -0,0 +1,877 @@
+package com.saucecode.chessy.core.logic;
+
+import com.saucecode.chessy.core.FigureType;
+import com.saucecode.chessy.core.Player;
+import com.saucecode.chessy.core.figures.Bishop;
+import com.saucecode.chessy.core.figures.King;
+import com.saucecode.chessy.core.figures.Knight;
+import com.saucecode.chessy.core.figures.Pawn;
+import com.saucecode.chessy.core.figures.Queen;
+import com.saucecode.chessy.core.figures.Rook;
+
+/**
+ * Bitboard representation of a chess position. Stores one {@code long} per piece type and color, the occupancy of
+ * both colors and a mailbox for looking up the piece on a single square. Squares are numbered {@code y * 8 + x}, so
+ * a1 is {@code 0} and h8 is {@code 63}.<br>
+ * Moves are performed in place by {@link #makeMove(int)} and taken back by {@link #unmakeMove(int, long)}, so a
+ * search can walk the whole tree on a single instance. The scores, the game phase and the {@link Zobrist} keys are
+ * updated incrementally on every change. Two bitboards are equal, if their keys are equal, regardless of how the
+ * positions were reached.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class Bitboard {
+
+	/**
+	 * Color white.
+	 */
+	public static final int WHITE = 0;
+
+	/**
+	 * Color black.
+	 */
+	public static final int BLACK = 1;
+
+	/**
+	 * Piece type pawn.
+	 */
+	public static final int PAWN = 0;
+
+	/**
+	 * Piece type knight.
+	 */
+	public static final int KNIGHT = 1;
+
+	/**
+	 * Piece type bishop.
+	 */
+	public static final int BISHOP = 2;
+
+	/**
+	 * Piece type rook.
+	 */
+	public static final int ROOK = 3;
+
+	/**
+	 * Piece type queen.
+	 */
+	public static final int QUEEN = 4;
+
+	/**
+	 * Piece type king.
+	 */
+	public static final int KING = 5;
+
+	/**
+	 * Marks an empty square.
+	 */
+	public static final int NO_PIECE = -1;
+
+	/**
+	 * Castling right for white to the king side.
+	 */
+	public static final int CASTLING_WHITE_KING = 1;
+
+	/**
+	 * Castling right for white to the queen side.
+	 */
+	public static final int CASTLING_WHITE_QUEEN = 2;
+
+	/**
+	 * Castling right for black to the king side.
+	 */
+	public static final int CASTLING_BLACK_KING = 4;
+
+	/**
+	 * Castling right for black to the queen side.
+	 */
+	public static final int CASTLING_BLACK_QUEEN = 8;
+
+	/**
+	 * All castling rights.
+	 */
+	public static final int CASTLING_ALL = 15;
+
+	/**
+	 * For every square, the castling rights which remain when a piece leaves or enters that square.
+	 */
+	static final int[] CASTLING_MASK = new int[64];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			CASTLING_MASK[square] = CASTLING_ALL;
+		}
+		CASTLING_MASK[square(0, 0)] &= ~CASTLING_WHITE_QUEEN;
+		CASTLING_MASK[square(4, 0)] &= ~(CASTLING_WHITE_KING | CASTLING_WHITE_QUEEN);
+		CASTLING_MASK[square(7, 0)] &= ~CASTLING_WHITE_KING;
+		CASTLING_MASK[square(0, 7)] &= ~CASTLING_BLACK_QUEEN;
+		CASTLING_MASK[square(4, 7)] &= ~(CASTLING_BLACK_KING | CASTLING_BLACK_QUEEN);
+		CASTLING_MASK[square(7, 7)] &= ~CASTLING_BLACK_KING;
+	}
+
+	/**
+	 * Game phase of the starting position, which is the mid game. A phase of {@code 0} is the late game.
+	 */
+	public static final int PHASE_MAX = 24;
+
+	/**
+	 * Contribution of every piece to the game phase.
+	 */
+	private static final int[] PHASES = { 0, 1, 1, 2, 4, 0, 0, 1, 1, 2, 4, 0 };
+
+	/**
+	 * Value of every piece except the king on every square, taken from the figure classes.
+	 */
+	private static final int[][] SCORES = new int[12][64];
+
+	/**
+	 * Value of the king of every color on every square during mid game.
+	 */
+	private static final int[][] KING_MID_GAME = new int[2][64];
+
+	/**
+	 * Value of the king of every color on every square during late game.
+	 */
+	private static final int[][] KING_LATE_GAME = new int[2][64];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			final int x = square & 7;
+			for (int color = WHITE; color <= BLACK; color++) {
+				final int y = (color == WHITE) ? (square >>> 3) : 7 - (square >>> 3);
+				SCORES[piece(color, PAWN)][square] = Pawn.VALUE + Pawn.EVAL[x][y];
+				SCORES[piece(color, KNIGHT)][square] = Knight.VALUE + Knight.EVAL[x][y];
+				SCORES[piece(color, BISHOP)][square] = Bishop.VALUE + Bishop.EVAL[x][y];
+				SCORES[piece(color, ROOK)][square] = Rook.VALUE + Rook.EVAL[x][y];
+				SCORES[piece(color, QUEEN)][square] = Queen.VALUE + Queen.EVAL[x][y];
+				KING_MID_GAME[color][square] = King.VALUE + King.EVAL_MID_GAME[x][y];
+				KING_LATE_GAME[color][square] = King.VALUE + King.EVAL_LATE_GAME[x][y];
+			}
+		}
+	}
+
+	/**
+	 * One bitboard per piece, indexed by {@link #piece(int, int)}.
+	 */
+	private final long[] pieces;
+
+	/**
+	 * Occupancy of each color.
+	 */
+	private final long[] occupancy;
+
+	/**
+	 * Occupancy of both colors.
+	 */
+	private long occupied;
+
+	/**
+	 * The piece on every square, or {@link #NO_PIECE}.
+	 */
+	private final int[] mailbox;
+
+	/**
+	 * The color to move.
+	 */
+	private int sideToMove;
+
+	/**
+	 * The remaining castling rights.
+	 */
+	private int castling;
+
+	/**
+	 * The file of a pawn which has just been moved two squares, or {@code -1}.
+	 */
+	private int enPassant;
+
+	/**
+	 * Score of the pieces of each color, not including the king.
+	 */
+	private final int[] scores;
+
+	/**
+	 * Sum of the {@link #PHASES} of all pieces, which may exceed {@link #PHASE_MAX} after promotions.
+	 */
+	private int phase;
+
+	/**
+	 * The {@link Zobrist} key.
+	 */
+	private long key;
+
+	/**
+	 * The {@link Zobrist} key of the pawns only.
+	 */
+	private long pawnKey;
+
+	/**
+	 * Creates a new, empty {@link Bitboard} with white to move.
+	 */
+	public Bitboard() {
+		pieces = new long[12];
+		occupancy = new long[2];
+		occupied = 0L;
+		mailbox = new int[64];
+		for (int square = 0; square < 64; square++) {
+			mailbox[square] = NO_PIECE;
+		}
+		sideToMove = WHITE;
+		castling = 0;
+		enPassant = -1;
+		scores = new int[2];
+		phase = 0;
+		key = 0L;
+		pawnKey = 0L;
+	}
+
+	/**
+	 * Creates a copy of a {@link Bitboard}.
+	 *
+	 * @param bitboard the bitboard to be copied
+	 */
+	public Bitboard(Bitboard bitboard) {
+		pieces = bitboard.pieces.clone();
+		occupancy = bitboard.occupancy.clone();
+		occupied = bitboard.occupied;
+		mailbox = bitboard.mailbox.clone();
+		sideToMove = bitboard.sideToMove;
+		castling = bitboard.castling;
+		enPassant = bitboard.enPassant;
+		scores = bitboard.scores.clone();
+		phase = bitboard.phase;
+		key = bitboard.key;
+		pawnKey = bitboard.pawnKey;
+	}
+
+	/**
+	 * Replaces this position by a copy of another one without allocating anything.
+	 *
+	 * @param bitboard the bitboard to be copied
+	 */
+	public void set(Bitboard bitboard) {
+		System.arraycopy(bitboard.pieces, 0, pieces, 0, pieces.length);
+		System.arraycopy(bitboard.occupancy, 0, occupancy, 0, occupancy.length);
+		occupied = bitboard.occupied;
+		System.arraycopy(bitboard.mailbox, 0, mailbox, 0, mailbox.length);
+		sideToMove = bitboard.sideToMove;
+		castling = bitboard.castling;
+		enPassant = bitboard.enPassant;
+		System.arraycopy(bitboard.scores, 0, scores, 0, scores.length);
+		phase = bitboard.phase;
+		key = bitboard.key;
+		pawnKey = bitboard.pawnKey;
+	}
+
+	/**
+	 * Returns the square index of a coordinate.
+	 *
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return square index
+	 */
+	public static int square(int x, int y) {
+		return y * 8 + x;
+	}
+
+	/**
+	 * Returns the piece index of a color and piece type.
+	 *
+	 * @param color the color
+	 * @param type  the piece type
+	 * @return piece index
+	 */
+	public static int piece(int color, int type) {
+		return color * 6 + type;
+	}
+
+	/**
+	 * Returns the color of a piece.
+	 *
+	 * @param piece the piece
+	 * @return color of the piece
+	 */
+	public static int colorOf(int piece) {
+		return piece < 6 ? WHITE : BLACK;
+	}
+
+	/**
+	 * Returns the type of a piece.
+	 *
+	 * @param piece the piece
+	 * @return type of the piece
+	 */
+	public static int typeOf(int piece) {
+		return piece < 6 ? piece : piece - 6;
+	}
+
+	/**
+	 * Returns the color of a player.
+	 *
+	 * @param player the player
+	 * @return color of the player
+	 */
+	public static int color(Player player) {
+		return player == Player.WHITE ? WHITE : BLACK;
+	}
+
+	/**
+	 * Returns the player of a color.
+	 *
+	 * @param color the color
+	 * @return player of the color
+	 */
+	public static Player player(int color) {
+		return color == WHITE ? Player.WHITE : Player.BLACK;
+	}
+
+	/**
+	 * Returns the piece index of a figure type.
+	 *
+	 * @param figureType the figure type
+	 * @return
+	 *         <ul>
+	 *         <li>the piece index</li>
+	 *         <li>{@link #NO_PIECE}, if {@code figureType} is {@link FigureType#NONE}</li>
+	 *         </ul>
+	 */
+	public static int piece(FigureType figureType) {
+		switch (figureType) {
+		case PAWN_WHITE:
+			return piece(WHITE, PAWN);
+		case KNIGHT_WHITE:
+			return piece(WHITE, KNIGHT);
+		case BISHOP_WHITE:
+			return piece(WHITE, BISHOP);
+		case ROOK_WHITE:
+			return piece(WHITE, ROOK);
+		case QUEEN_WHITE:
+			return piece(WHITE, QUEEN);
+		case KING_WHITE:
+			return piece(WHITE, KING);
+		case PAWN_BLACK:
+			return piece(BLACK, PAWN);
+		case KNIGHT_BLACK:
+			return piece(BLACK, KNIGHT);
+		case BISHOP_BLACK:
+			return piece(BLACK, BISHOP);
+		case ROOK_BLACK:
+			return piece(BLACK, ROOK);
+		case QUEEN_BLACK:
+			return piece(BLACK, QUEEN);
+		case KING_BLACK:
+			return piece(BLACK, KING);
+		case NONE:
+			return NO_PIECE;
+		default:
+			throw new InternalError("no such enum");
+		}
+	}
+
+	/**
+	 * Returns the piece on a square.
+	 *
+	 * @param square the square
+	 * @return
+	 *         <ul>
+	 *         <li>the piece on the square</li>
+	 *         <li>{@link #NO_PIECE}, if the square is empty</li>
+	 *         </ul>
+	 */
+	public int getPiece(int square) {
+		return mailbox[square];
+	}
+
+	/**
+	 * Returns the bitboard of a piece type of a color.
+	 *
+	 * @param color the color
+	 * @param type  the piece type
+	 * @return bitboard of the pieces
+	 */
+	public long getPieces(int color, int type) {
+		return pieces[piece(color, type)];
+	}
+
+	/**
+	 * Returns all squares occupied by a color.
+	 *
+	 * @param color the color
+	 * @return occupancy of the color
+	 */
+	public long getOccupancy(int color) {
+		return occupancy[color];
+	}
+
+	/**
+	 * Returns all occupied squares.
+	 *
+	 * @return occupancy of both colors
+	 */
+	public long getOccupied() {
+		return occupied;
+	}
+
+	/**
+	 * Puts a piece on a square. A piece already standing on that square is removed.
+	 *
+	 * @param square the square
+	 * @param piece  the piece
+	 */
+	public void setPiece(int square, int piece) {
+		removePiece(square);
+		place(square, piece);
+		scores[colorOf(piece)] += SCORES[piece][square];
+		phase += PHASES[piece];
+	}
+
+	/**
+	 * Removes the piece of a square. If the square is empty, nothing happens.
+	 *
+	 * @param square the square
+	 * @return
+	 *         <ul>
+	 *         <li>the removed piece</li>
+	 *         <li>{@link #NO_PIECE}, if the square was empty</li>
+	 *         </ul>
+	 */
+	public int removePiece(int square) {
+		final int piece = clear(square);
+		if (piece != NO_PIECE) {
+			scores[colorOf(piece)] -= SCORES[piece][square];
+			phase -= PHASES[piece];
+		}
+		return piece;
+	}
+
+	/**
+	 * Puts a piece on an empty square without updating the scores and the phase. The keys are updated.
+	 *
+	 * @param square the square
+	 * @param piece  the piece
+	 */
+	private void place(int square, int piece) {
+		final long bit = 1L << square;
+		pieces[piece] |= bit;
+		occupancy[colorOf(piece)] |= bit;
+		occupied |= bit;
+		mailbox[square] = piece;
+		key ^= Zobrist.piece(piece, square);
+		if (typeOf(piece) == PAWN) {
+			pawnKey ^= Zobrist.piece(piece, square);
+		}
+	}
+
+	/**
+	 * Removes the piece of a square without updating the scores and the phase. The keys are updated.
+	 *
+	 * @param square the square
+	 * @return the removed piece, or {@link #NO_PIECE}
+	 */
+	private int clear(int square) {
+		final int piece = mailbox[square];
+		if (piece != NO_PIECE) {
+			final long bit = ~(1L << square);
+			pieces[piece] &= bit;
+			occupancy[colorOf(piece)] &= bit;
+			occupied &= bit;
+			mailbox[square] = NO_PIECE;
+			key ^= Zobrist.piece(piece, square);
+			if (typeOf(piece) == PAWN) {
+				pawnKey ^= Zobrist.piece(piece, square);
+			}
+		}
+		return piece;
+	}
+
+	/**
+	 * Performs a pseudo-legal move. The move may leave the own king in check, which has to be tested afterwards with
+	 * {@link #isInCheck(int)}.<br>
+	 * The returned undo record is laid out as follows:
+	 * <ul>
+	 * <li>bits 0 - 3: castling rights before the move</li>
+	 * <li>bits 4 - 7: en passant file before the move plus one</li>
+	 * <li>bits 8 - 11: captured piece plus one, {@code 0} if nothing was captured</li>
+	 * <li>bits 16 - 31: score delta of white</li>
+	 * <li>bits 32 - 47: score delta of black</li>
+	 * <li>bits 48 - 55: phase delta</li>
+	 * </ul>
+	 *
+	 * @param move the move
+	 * @return the undo record, which has to be passed to {@link #unmakeMove(int, long)}
+	 */
+	public long makeMove(int move) {
+		final int from = Move.from(move);
+		final int to = Move.to(move);
+		final int flag = Move.flag(move);
+		final int scoreWhite = scores[WHITE];
+		final int scoreBlack = scores[BLACK];
+		final int phaseBefore = phase;
+		final int piece = removePiece(from);
+		int captured;
+		switch (flag) {
+		case Move.EN_PASSANT:
+			captured = removePiece((from & ~7) | (to & 7));
+			break;
+		case Move.CASTLING:
+			captured = NO_PIECE;
+			if (to > from) {
+				setPiece(to - 1, removePiece(to + 1));
+			} else {
+				setPiece(to + 1, removePiece(to - 2));
+			}
+			break;
+		default:
+			captured = removePiece(to);
+			break;
+		}
+		setPiece(to, (flag == Move.PROMOTION) ? piece(colorOf(piece), QUEEN) : piece);
+		final long undo = castling | ((enPassant + 1L) << 4) | ((captured + 1L) << 8)
+				| (((scores[WHITE] - scoreWhite) & 0xFFFFL) << 16) | (((scores[BLACK] - scoreBlack) & 0xFFFFL) << 32)
+				| (((phase - phaseBefore) & 0xFFL) << 48);
+		setCastling(castling & CASTLING_MASK[from] & CASTLING_MASK[to]);
+		setEnPassant((flag == Move.DOUBLE_PUSH) ? (from & 7) : -1);
+		setSideToMove(sideToMove ^ 1);
+		return undo;
+	}
+
+	/**
+	 * Takes back a move performed by {@link #makeMove(int)}.
+	 *
+	 * @param move the move
+	 * @param undo the undo record returned by {@link #makeMove(int)}
+	 */
+	public void unmakeMove(int move, long undo) {
+		final int from = Move.from(move);
+		final int to = Move.to(move);
+		final int flag = Move.flag(move);
+		setSideToMove(sideToMove ^ 1);
+		clear(to);
+		place(from, Move.piece(move));
+		final int captured = (int) ((undo >>> 8) & 0xF) - 1;
+		if (flag == Move.EN_PASSANT) {
+			place((from & ~7) | (to & 7), captured);
+		} else if (captured != NO_PIECE) {
+			place(to, captured);
+		} else if (flag == Move.CASTLING) {
+			if (to > from) {
+				place(to + 1, clear(to - 1));
+			} else {
+				place(to - 2, clear(to + 1));
+			}
+		}
+		setCastling((int) (undo & 0xF));
+		setEnPassant((int) ((undo >>> 4) & 0xF) - 1);
+		scores[WHITE] -= (short) (undo >>> 16);
+		scores[BLACK] -= (short) (undo >>> 32);
+		phase -= (byte) (undo >>> 48);
+	}
+
+	/**
+	 * Returns whether a pseudo-legal move of the color to move is legal, which means it does not leave the own king in
+	 * check.
+	 *
+	 * @param move the move
+	 * @return {@code true}, if the move is legal
+	 */
+	public boolean isLegal(int move) {
+		final int color = sideToMove;
+		final long undo = makeMove(move);
+		final boolean legal = !isInCheck(color);
+		unmakeMove(move, undo);
+		return legal;
+	}
+
+	/**
+	 * Passes the turn to the opponent without moving, which is not allowed by the chess rules, but used by the search
+	 * to estimate how strong a position is.
+	 *
+	 * @return the undo record, which has to be passed to {@link #unmakeNullMove(int)}
+	 */
+	public int makeNullMove() {
+		final int undo = enPassant;
+		setEnPassant(-1);
+		setSideToMove(sideToMove ^ 1);
+		return undo;
+	}
+
+	/**
+	 * Takes back a move performed by {@link #makeNullMove()}.
+	 *
+	 * @param undo the undo record returned by {@link #makeNullMove()}
+	 */
+	public void unmakeNullMove(int undo) {
+		setSideToMove(sideToMove ^ 1);
+		setEnPassant(undo);
+	}
+
+	/**
+	 * Returns whether a color has any pieces besides pawns and its king. Positions in which the color to move has
+	 * only pawns left are prone to zugzwang.
+	 *
+	 * @param color the color
+	 * @return {@code true}, if the color has a knight, bishop, rook or queen
+	 */
+	public boolean hasPieces(int color) {
+		final int offset = piece(color, PAWN);
+		return (pieces[offset + KNIGHT] | pieces[offset + BISHOP] | pieces[offset + ROOK]
+				| pieces[offset + QUEEN]) != 0L;
+	}
+
+	/**
+	 * Returns the color to move.
+	 *
+	 * @return color to move
+	 */
+	public int getSideToMove() {
+		return sideToMove;
+	}
+
+	/**
+	 * Sets the color to move.
+	 *
+	 * @param sideToMove color to move
+	 */
+	public void setSideToMove(int sideToMove) {
+		key ^= Zobrist.side(this.sideToMove) ^ Zobrist.side(sideToMove);
+		this.sideToMove = sideToMove;
+	}
+
+	/**
+	 * Returns the remaining castling rights.
+	 *
+	 * @return castling rights
+	 */
+	public int getCastling() {
+		return castling;
+	}
+
+	/**
+	 * Sets the castling rights.
+	 *
+	 * @param castling castling rights
+	 */
+	public void setCastling(int castling) {
+		key ^= Zobrist.castling(this.castling) ^ Zobrist.castling(castling);
+		this.castling = castling;
+	}
+
+	/**
+	 * Removes the castling rights which depend on a piece standing on the given square.
+	 *
+	 * @param square the square a piece left or entered
+	 */
+	public void updateCastling(int square) {
+		setCastling(castling & CASTLING_MASK[square]);
+	}
+
+	/**
+	 * Returns the file of a pawn which has just been moved two squares.
+	 *
+	 * @return
+	 *         <ul>
+	 *         <li>the file of the pawn</li>
+	 *         <li>{@code -1}, if the last move was no double pawn move</li>
+	 *         </ul>
+	 */
+	public int getEnPassant() {
+		return enPassant;
+	}
+
+	/**
+	 * Sets the file of a pawn which has just been moved two squares.
+	 *
+	 * @param enPassant file of the pawn, or {@code -1}
+	 */
+	public void setEnPassant(int enPassant) {
+		key ^= Zobrist.enPassant(this.enPassant) ^ Zobrist.enPassant(enPassant);
+		this.enPassant = enPassant;
+	}
+
+	/**
+	 * Returns the square of the king of a color.
+	 *
+	 * @param color the color
+	 * @return
+	 *         <ul>
+	 *         <li>square of the king</li>
+	 *         <li>{@code -1}, if there is no king</li>
+	 *         </ul>
+	 */
+	public int getKingSquare(int color) {
+		final long king = pieces[piece(color, KING)];
+		return (king == 0L) ? -1 : Long.numberOfTrailingZeros(king);
+	}
+
+	/**
+	 * Returns whether a square is attacked by a color.
+	 *
+	 * @param square the square
+	 * @param color  the attacking color
+	 * @return {@code true}, if the square is attacked
+	 */
+	public boolean isSquareAttacked(int square, int color) {
+		final int offset = piece(color, PAWN);
+		if ((Attacks.pawn(color ^ 1, square) & pieces[offset + PAWN]) != 0L) {
+			return true;
+		}
+		if ((Attacks.knight(square) & pieces[offset + KNIGHT]) != 0L) {
+			return true;
+		}
+		if ((Attacks.king(square) & pieces[offset + KING]) != 0L) {
+			return true;
+		}
+		final long queens = pieces[offset + QUEEN];
+		if ((Attacks.bishop(square, occupied) & (pieces[offset + BISHOP] | queens)) != 0L) {
+			return true;
+		}
+		return (Attacks.rook(square, occupied) & (pieces[offset + ROOK] | queens)) != 0L;
+	}
+
+	/**
+	 * Returns the pieces of both colors attacking a square, if only the given squares were occupied. Sliding pieces
+	 * behind a piece, which has been removed from the occupied squares, are included.
+	 *
+	 * @param square   the square
+	 * @param occupied the occupied squares
+	 * @return the attacking pieces, which may include pieces not contained in {@code occupied}
+	 */
+	public long getAttackers(int square, long occupied) {
+		final long bishops = pieces[piece(WHITE, BISHOP)] | pieces[piece(BLACK, BISHOP)] | pieces[piece(WHITE, QUEEN)]
+				| pieces[piece(BLACK, QUEEN)];
+		final long rooks = pieces[piece(WHITE, ROOK)] | pieces[piece(BLACK, ROOK)] | pieces[piece(WHITE, QUEEN)]
+				| pieces[piece(BLACK, QUEEN)];
+		return (Attacks.pawn(BLACK, square) & pieces[piece(WHITE, PAWN)])
+				| (Attacks.pawn(WHITE, square) & pieces[piece(BLACK, PAWN)])
+				| (Attacks.knight(square) & (pieces[piece(WHITE, KNIGHT)] | pieces[piece(BLACK, KNIGHT)]))
+				| (Attacks.king(square) & (pieces[piece(WHITE, KING)] | pieces[piece(BLACK, KING)]))
+				| (Attacks.bishop(square, occupied) & bishops) | (Attacks.rook(square, occupied) & rooks);
+	}
+
+	/**
+	 * Returns whether the king of a color is in check.
+	 *
+	 * @param color the color
+	 * @return {@code true}, if the king is attacked
+	 */
+	public boolean isInCheck(int color) {
+		final int king = getKingSquare(color);
+		return king != -1 && isSquareAttacked(king, color ^ 1);
+	}
+
+	/**
+	 * Returns the game phase, which is updated incrementally by every change of a square. It decreases from
+	 * {@link #PHASE_MAX} in the starting position to {@code 0} as knights, bishops, rooks and queens are captured.
+	 *
+	 * @return the game phase
+	 */
+	public int getPhase() {
+		return Math.min(phase, PHASE_MAX);
+	}
+
+	/**
+	 * Blends a mid game and a late game value by the game phase, so the evaluation changes gradually while pieces are
+	 * captured.
+	 *
+	 * @param midGame  the value during mid game
+	 * @param lateGame the value during late game
+	 * @param phase    the game phase, see {@link #getPhase()}
+	 * @return the blended value
+	 */
+	public static int taper(int midGame, int lateGame, int phase) {
+		return (midGame * phase + lateGame * (PHASE_MAX - phase)) / PHASE_MAX;
+	}
+
+	/**
+	 * Returns the total score of a color, which is the value of all its pieces including the king.
+	 *
+	 * @param color the color
+	 * @return total score of the color
+	 */
+	public int getScoreTotal(int color) {
+		final int king = getKingSquare(color);
+		if (king == -1) {
+			return scores[color];
+		}
+		return scores[color] + taper(KING_MID_GAME[color][king], KING_LATE_GAME[color][king], getPhase());
+	}
+
+	/**
+	 * Returns the score of a color, which is its total score minus the total score of the opponent.
+	 *
+	 * @param color the color
+	 * @return score of the color
+	 */
+	public int getScore(int color) {
+		return getScoreTotal(color) - getScoreTotal(color ^ 1);
+	}
+
+	/**
+	 * Returns the {@link Zobrist} key, which identifies the position independently of the moves leading to it.
+	 *
+	 * @return the key
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Computes the {@link Zobrist} key from scratch. The result always equals {@link #getKey()}.
+	 *
+	 * @return the key
+	 */
+	public long computeKey() {
+		long ret = Zobrist.side(sideToMove) ^ Zobrist.castling(castling) ^ Zobrist.enPassant(enPassant);
+		for (int square = 0; square < 64; square++) {
+			if (mailbox[square] != NO_PIECE) {
+				ret ^= Zobrist.piece(mailbox[square], square);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the {@link Zobrist} key of the pawns, which identifies the pawn structure of both colors.
+	 *
+	 * @return the pawn key
+	 */
+	public long getPawnKey() {
+		return pawnKey;
+	}
+
+	/**
+	 * Computes the {@link Zobrist} key of the pawns from scratch. The result always equals {@link #getPawnKey()}.
+	 *
+	 * @return the pawn key
+	 */
+	public long computePawnKey() {
+		long ret = 0L;
+		for (int square = 0; square < 64; square++) {
+			if (mailbox[square] != NO_PIECE && typeOf(mailbox[square]) == PAWN) {
+				ret ^= Zobrist.piece(mailbox[square], square);
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (key ^ (key >>> 32));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		final Bitboard other = (Bitboard) obj;
+		return key == other.key;
+	}
+
+}
@@ -1,14 +1,14 @@
 package com.saucecode.chessy.core.logic;
 
-import java.text.DecimalFormat;
-import java.util.Arrays;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
 
 import org.apache.log4j.Logger;
 
+import com.saucecode.chessy.core.ParallelMode;
 import com.saucecode.chessy.core.Player;
 import com.saucecode.chessy.core.Position;
+import com.saucecode.chessy.core.SearchMode;
 import com.saucecode.chessy.core.figures.Bishop;
 import com.saucecode.chessy.core.figures.King;
 import com.saucecode.chessy.core.figures.Knight;
@@ -16,13 +16,9 @@ import com.saucecode.chessy.core.figures.Pawn;
 import com.saucecode.chessy.core.figures.Queen;
 import com.saucecode.chessy.core.figures.Rook;
 
-import javafx.application.Platform;
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
-
 /**
- * Represents a board of a chess game.
+ * Represents a board of a chess game. The figures are mirrored into a {@link Bitboard}, which answers all set-wise
+ * queries like finding a king or testing for check.
  *
  * @author Torben Kr&uuml;ger
  */
@@ -30,6 +26,28 @@ public class Board {
 	
 	public static final int CHECKMATE_SCORE = 100_000;
 
+	/**
+	 * Half of the width of the aspiration window used by {@link #getMax(int, SearchControl, DoubleConsumer,
+	 * SearchExecutor, ParallelMode, SearchMode, TranspositionTable, AtomicInteger)}.
+	 */
+	static final int ASPIRATION_WINDOW = 50;
+
+	/**
+	 * Whether every move cross-checks the incrementally updated scores against a full evaluation of all figures,
+	 * enabled by the system property {@code chessy.debug.evaluation}.
+	 */
+	static final boolean DEBUG_EVALUATION = Boolean.getBoolean("chessy.debug.evaluation");
+
+	/**
+	 * Bit mask of the first rank.
+	 */
+	private static final long RANK_1 = 0xFFL;
+
+	/**
+	 * Bit mask of the eighth rank.
+	 */
+	private static final long RANK_8 = 0xFFL << 56;
+
 	/**
 	 * Static {@link Logger} instance for the class {@link Board}.
 	 */
@@ -50,6 +68,11 @@ public class Board {
 	 */
 	private final Figure[][] figures;
 
+	/**
+	 * Bitboard mirror of {@link #figures}, kept up to date by every modifying method.
+	 */
+	private final Bitboard bitboard;
+
 	/**
 	 * The previous board.
 	 */
@@ -67,16 +90,6 @@ public class Board {
 	 */
 	private int markerBlackX;
 
-	/**
-	 * White's score for this board.
-	 */
-	private int scoreWhiteTotal;
-
-	/**
-	 * Black's score for this board.
-	 */
-	private int scoreBlackTotal;
-
 	/**
 	 * From position.
 	 */
@@ -130,10 +143,18 @@ public class Board {
 		figures[6][7] = new Knight(Player.BLACK, this, 6, 7);
 		figures[7][7] = new   Rook(Player.BLACK, this, 7, 7);
 		// @formatter:on
+		bitboard = new Bitboard();
+		for (int x = 0; x < 8; x++) {
+			for (int y = 0; y < 8; y++) {
+				if (figures[x][y] != null) {
+					bitboard.setPiece(Bitboard.square(x, y), Bitboard.piece(figures[x][y].getFigureType()));
+				}
+			}
+		}
+		bitboard.setCastling(Bitboard.CASTLING_ALL);
 		previous = null;
 		markerWhiteX = -1;
 		markerBlackX = -1;
-		evaluate();
 	}
 
 	/**
@@ -152,6 +173,9 @@ public class Board {
 				}
 			}
 		}
+		bitboard = new Bitboard(board.bitboard);
+		markerWhiteX = board.markerWhiteX;
+		markerBlackX = board.markerBlackX;
 		previous = board;
 	}
 
@@ -164,6 +188,25 @@ public class Board {
 		return figures;
 	}
 
+	/**
+	 * Returns the bitboard mirror of this board.
+	 *
+	 * @return the bitboard
+	 */
+	public Bitboard getBitboard() {
+		return bitboard;
+	}
+
+	/**
+	 * Returns the figure standing on a square of the bitboard.
+	 *
+	 * @param square square index
+	 * @return the figure, or {@code null}
+	 */
+	private Figure getFigure(int square) {
+		return figures[square & 7][square >>> 3];
+	}
+
 	/**
 	 * Returns the figure of a certain tile.
 	 *
@@ -188,6 +231,13 @@ public class Board {
 	 */
 	public void setFigure(int x, int y, Figure figure) {
 		figures[x][y] = figure;
+		final int square = Bitboard.square(x, y);
+		if (figure == null) {
+			bitboard.removePiece(square);
+		} else {
+			bitboard.setPiece(square, Bitboard.piece(figure.getFigureType()));
+		}
+		bitboard.updateCastling(square);
 	}
 
 	/**
@@ -205,6 +255,9 @@ public class Board {
 	public Figure removeFigure(int x, int y) {
 		final Figure ret = figures[x][y];
 		figures[x][y] = null;
+		final int square = Bitboard.square(x, y);
+		bitboard.removePiece(square);
+		bitboard.updateCastling(square);
 		return ret;
 	}
 
@@ -252,6 +305,8 @@ public class Board {
 	 */
 	public void nextPlayer() {
 		currentPlayer = (currentPlayer == Player.WHITE ? Player.BLACK : Player.WHITE);
+		bitboard.setSideToMove(Bitboard.color(currentPlayer));
+		updateEnPassant();
 	}
 
 	@Override
@@ -295,19 +350,7 @@ public class Board {
 	 * @return {@code true}, if the player is in check
 	 */
 	public boolean isInCheck(Player player) {
-		// TODO remove parameter player - unused
-		final Figure king = getFigure(King.class, player);
-		if (king != null) {
-			for (int x = 0; x < 8; x++) {
-				for (int y = 0; y < 8; y++) {
-					if ((figures[x][y] != null) && (figures[x][y].getOwner() != player)
-							&& figures[x][y].isSquareReachable(king.getX(), king.getY())) {
-						return true;
-					}
-				}
-			}
-		}
-		return false;
+		return bitboard.isInCheck(Bitboard.color(player));
 	}
 
 	/**
@@ -321,15 +364,8 @@ public class Board {
 	 *         </ul>
 	 */
 	public Figure getKing(Player player) {
-		for (int x = 0; x < 8; x++) {
-			for (int y = 0; y < 8; y++) {
-				if ((figures[x][y] != null) && (figures[x][y] instanceof King)
-						&& (figures[x][y].getOwner() == player)) {
-					return figures[x][y];
-				}
-			}
-		}
-		return null;
+		final int square = bitboard.getKingSquare(Bitboard.color(player));
+		return (square == -1) ? null : getFigure(square);
 	}
 
 	/**
@@ -340,6 +376,11 @@ public class Board {
 	 * @return the figure of the player
 	 */
 	public Figure getFigure(Class<?> figure, Player player) {
+		final int type = getType(figure);
+		if (type != Bitboard.NO_PIECE) {
+			final long pieces = bitboard.getPieces(Bitboard.color(player), type);
+			return (pieces == 0L) ? null : getFigure(Long.numberOfTrailingZeros(pieces));
+		}
 		for (int x = 0; x < 8; x++) {
 			for (int y = 0; y < 8; y++) {
 				if ((figures[x][y] != null) && (figure.isInstance(figures[x][y]))
@@ -351,6 +392,33 @@ public class Board {
 		return null;
 	}
 
+	/**
+	 * Returns the bitboard piece type of a figure class.
+	 *
+	 * @param figure the figure class
+	 * @return
+	 *         <ul>
+	 *         <li>the piece type</li>
+	 *         <li>{@link Bitboard#NO_PIECE}, if the class is not a concrete figure</li>
+	 *         </ul>
+	 */
+	private static int getType(Class<?> figure) {
+		if (figure == Pawn.class) {
+			return Bitboard.PAWN;
+		} else if (figure == Knight.class) {
+			return Bitboard.KNIGHT;
+		} else if (figure == Bishop.class) {
+			return Bitboard.BISHOP;
+		} else if (figure == Rook.class) {
+			return Bitboard.ROOK;
+		} else if (figure == Queen.class) {
+			return Bitboard.QUEEN;
+		} else if (figure == King.class) {
+			return Bitboard.KING;
+		}
+		return Bitboard.NO_PIECE;
+	}
+
 	/**
 	 * Returns the previous Board.
 	 *
@@ -364,15 +432,17 @@ public class Board {
 	 * Checks the board for {@link Pawn} at the end of the board. If there are any, they will be promoted.
 	 */
 	public void promote() {
-		for (int x = 0; x < 8; x++) {
-			if (figures[x][0] != null && figures[x][0] instanceof Pawn) {
-				figures[x][0] = new Queen(Player.BLACK, this, x, 0);
-			}
+		long promoted = bitboard.getPieces(Bitboard.BLACK, Bitboard.PAWN) & RANK_1;
+		while (promoted != 0L) {
+			final int x = Long.numberOfTrailingZeros(promoted) & 7;
+			setFigure(x, 0, new Queen(Player.BLACK, this, x, 0));
+			promoted &= promoted - 1;
 		}
-		for (int x = 0; x < 8; x++) {
-			if (figures[x][7] != null && figures[x][7] instanceof Pawn) {
-				figures[x][7] = new Queen(Player.WHITE, this, x, 7);
-			}
+		promoted = bitboard.getPieces(Bitboard.WHITE, Bitboard.PAWN) & RANK_8;
+		while (promoted != 0L) {
+			final int x = Long.numberOfTrailingZeros(promoted) & 7;
+			setFigure(x, 7, new Queen(Player.WHITE, this, x, 7));
+			promoted &= promoted - 1;
 		}
 	}
 
@@ -410,6 +480,7 @@ public class Board {
 		default:
 			throw new IllegalArgumentException();
 		}
+		updateEnPassant();
 	}
 
 	/**
@@ -426,27 +497,45 @@ public class Board {
 		default:
 			throw new IllegalArgumentException();
 		}
+		updateEnPassant();
 	}
 
 	/**
-	 * Evaluates the board for both players and stores these values.
+	 * Mirrors the x-marker of the player, who made the last move, into the bitboard.
 	 */
-	public void evaluate() {
-		scoreWhiteTotal = 0;
-		scoreBlackTotal = 0;
-		for (int x = 0; x < 8; x++) {
-			for (int y = 0; y < 8; y++) {
-				if (figures[x][y] != null) {
-					switch (figures[x][y].getOwner()) {
-					case WHITE:
-						scoreWhiteTotal += figures[x][y].getValue();
-						break;
-					case BLACK:
-						scoreBlackTotal += figures[x][y].getValue();
-						break;
-					default:
-						throw new IllegalArgumentException();
-					}
+	private void updateEnPassant() {
+		bitboard.setEnPassant(getMarker(currentPlayer == Player.WHITE ? Player.BLACK : Player.WHITE));
+	}
+
+	/**
+	 * Evaluates all figures of a player from scratch, which is only needed to verify the scores, which are updated
+	 * incrementally by every change of a square.
+	 *
+	 * @param player the player
+	 * @return total score of the player
+	 */
+	public int computeScoreTotal(Player player) {
+		int score = 0;
+		long occupied = bitboard.getOccupancy(Bitboard.color(player));
+		while (occupied != 0L) {
+			score += getFigure(Long.numberOfTrailingZeros(occupied)).getValue();
+			occupied &= occupied - 1;
+		}
+		return score;
+	}
+
+	/**
+	 * Verifies the incrementally updated scores against {@link #computeScoreTotal(Player)}, if
+	 * {@link #DEBUG_EVALUATION} is enabled. Otherwise nothing happens.
+	 *
+	 * @throws IllegalStateException if the scores differ
+	 */
+	public void verifyScores() {
+		if (DEBUG_EVALUATION) {
+			for (final Player player : Player.values()) {
+				if (getScoreTotal(player) != computeScoreTotal(player)) {
+					throw new IllegalStateException("incremental score of " + player + " is " + getScoreTotal(player)
+							+ ", but should be " + computeScoreTotal(player));
 				}
 			}
 		}
@@ -458,10 +547,10 @@ public class Board {
 	public void updateStatus() {
 		if (isInCheck(currentPlayer)) {
 			state = (currentPlayer == Player.WHITE) ? State.CHECK_WHITE : State.CHECK_BLACK;
-			if (isInCheckmate(currentPlayer)) {
+			if (isInCheckmate()) {
 				state = (currentPlayer == Player.WHITE) ? State.CHECKMATE_WHITE : State.CHECKMATE_BLACK;
 			}
-		} else if (isInStalemate(currentPlayer)) {
+		} else if (isInStalemate()) {
 			state = (currentPlayer == Player.WHITE) ? State.STALEMATE_WHITE : State.STALEMATE_BLACK;
 		} else {
 			state = State.NONE;
@@ -469,54 +558,30 @@ public class Board {
 	}
 
 	/**
-	 * Returns whether a player is in checkmate or not.<br>
-	 * This method expects that <b>the current player is in check</b>.
+	 * Returns whether the current player is in checkmate: in check and without any legal move.
 	 *
-	 * @param player the player to be checked
-	 * @return {@code true}, if the player is in checkmate
+	 * @return {@code true}, if the current player is in checkmate
 	 */
-	private boolean isInCheckmate(Player player) {
-		// TODO remove parameter player - unused
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					for (int toX = 0; toX < 8; toX++) {
-						for (int toY = 0; toY < 8; toY++) {
-							final Board temp = figures[fromX][fromY].move(toX, toY);
-							if (temp != null && !temp.isInCheck(currentPlayer)) {
-								return false;
-							}
-						}
-					}
-				}
-			}
-		}
-		return true;
+	private boolean isInCheckmate() {
+		return isInCheck(currentPlayer) && !hasLegalMove();
 	}
 
 	/**
-	 * Returns whether a player is in stalemate or not.<br>
-	 * This method expects that <b>the current player is not in check</b>.
+	 * Returns whether the current player is in stalemate: not in check, but without any legal move.
 	 *
-	 * @param player the player to be checked
-	 * @return {@code true}, if the player is in stalemate
+	 * @return {@code true}, if the current player is in stalemate
 	 */
-	private boolean isInStalemate(Player player) {
-		// TODO remove parameter player - unused
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					for (int toX = 0; toX < 8; toX++) {
-						for (int toY = 0; toY < 8; toY++) {
-							if (figures[fromX][fromY].isSquareReachable(toX, toY)) {
-								return false;
-							}
-						}
-					}
-				}
-			}
-		}
-		return true;
+	private boolean isInStalemate() {
+		return !isInCheck(currentPlayer) && !hasLegalMove();
+	}
+
+	/**
+	 * Returns whether the current player has any legal move.
+	 *
+	 * @return {@code true}, if the current player has a legal move
+	 */
+	private boolean hasLegalMove() {
+		return MoveGenerator.hasLegalMove(bitboard, new MoveList());
 	}
 
 	/**
@@ -556,211 +621,188 @@ public class Board {
 			// TODO
 			break;
 		}
-		if (player == Player.WHITE) {
-			return scoreWhiteTotal - scoreBlackTotal;
-		} else {
-			return scoreBlackTotal - scoreWhiteTotal;
-		}
+		return bitboard.getScore(Bitboard.color(player));
 	}
 
 	/**
-	 * Returns the total score of a player.
+	 * Returns the total score of a player, which is updated incrementally by every change of a square.
 	 *
 	 * @param player player, which's score shall be calculated
 	 * @return total score of a player
 	 */
 	public int getScoreTotal(Player player) {
-		if (player == Player.WHITE) {
-			return scoreWhiteTotal;
-		} else {
-			return scoreBlackTotal;
-		}
+		return bitboard.getScoreTotal(Bitboard.color(player));
 	}
 
-	public Board getMax(int ply, DoubleProperty progress, boolean multiThreaded, AtomicInteger count) {
+	/**
+	 * Performs a move given by the {@link MoveGenerator}, like the best move of a search. The move is validated
+	 * against the bitboard and then performed by the moving figure as encoded, including castling, en passant and
+	 * promotion, without checking it against the rules of the figure again. So the resulting board is the one the
+	 * search has evaluated.
+	 *
+	 * @param move the move
+	 * @return the resulting board
+	 * @throws IllegalArgumentException if the move is not a legal move of the current player
+	 * @throws IllegalStateException    if the resulting board differs from the bitboard after the same move
+	 */
+	public Board move(int move) {
+		if (!MoveGenerator.isPseudoLegal(bitboard, move) || !bitboard.isLegal(move)) {
+			throw new IllegalArgumentException("illegal move " + Move.toString(move));
+		}
+		final Board next = getFigure(Move.from(move)).move(move);
+		final Bitboard expected = new Bitboard(bitboard);
+		expected.makeMove(move);
+		if (next == null || next.bitboard.getKey() != expected.getKey()) {
+			throw new IllegalStateException("the figures disagree with the bitboard about the move "
+					+ Move.toString(move));
+		}
+		return next;
+	}
+
+	/**
+	 * Searches the best move of the current player by iterative deepening. The position is searched to a depth of 1,
+	 * 2, 3 and so on, searching the best move of the previous iteration first. The next iteration is only started if
+	 * at least half of the time up to the deadline is left, as it usually takes longer than all previous iterations
+	 * together. Once stopped, the best move found so far is returned.
+	 * <p>
+	 * Every iteration but the first one is searched with an aspiration window of {@link #ASPIRATION_WINDOW} around
+	 * the score of the previous iteration. If the score falls outside of the window, the iteration is searched again
+	 * with that side of the window opened. Once an iteration finds a checkmate within its depth, which is scored by
+	 * its distance (see {@link Search#MAX_HEIGHT}), no deeper iteration is started.
+	 * <p>
+	 * Using {@link ParallelMode#LAZY_SMP}, the helper threads run their own iterative deepening during the whole
+	 * search and are only stopped once it ends.
+	 *
+	 * @param ply      the maximum number of plies to be searched
+	 * @param control  tells when to stop
+	 * @param progress receives the progress from {@code 0.0} to {@code 1.0}, which restarts at the share of the
+	 *                 previous iterations whenever an iteration is searched again
+	 * @param executor searches the root moves of every iteration
+	 * @param parallel how the executor distributes the search over its threads
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table, or {@code null}
+	 * @param count    counter of searched moves
+	 * @return
+	 *         <ul>
+	 *         <li>the best move found, its score and principal variation</li>
+	 *         <li>{@code null}, if there is no move</li>
+	 *         </ul>
+	 */
+	public SearchResult getMax(int ply, SearchControl control, DoubleConsumer progress, SearchExecutor executor,
+			ParallelMode parallel, SearchMode mode, TranspositionTable table, AtomicInteger count) {
 		if (isGameOVer()) {
-			return chain(ply);
+			return null;
 		}
-		if (multiThreaded) {
-			return getMaxMultiThreaded(ply, progress, count);
-		} else {
-			int figuresToMove = 0;
-
-			progress.set(0.0); // TODO eventuell verschieben
-
-			for (int fromX = 0; fromX < 8; fromX++) {
-				for (int fromY = 0; fromY < 8; fromY++) {
-					if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-						figuresToMove++;
-					}
-				}
-			}
-			final double step = 1.0 / figuresToMove;
-			Board max = null;
-			Board temp;
-			for (int fromX = 0; fromX < 8; fromX++) {
-				for (int fromY = 0; fromY < 8; fromY++) {
-					if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-						for (int toX = 0; toX < 8; toX++) {
-							for (int toY = 0; toY < 8; toY++) {
-								temp = figures[fromX][fromY].move(toX, toY);
-								if (temp != null) {
-									count.incrementAndGet();
-								}
-								if ((temp != null) && (ply > 1)) {
-									temp = temp.getMaxSingleThreaded(ply - 1, count);
-								}
-								if ((max == null) || ((temp != null)
-										&& (temp.getScore(currentPlayer) > max.getScore(currentPlayer)))) {
-									max = temp;
-								}
-							}
-						}
-						Platform.runLater(() -> progress.set(progress.get() + step));
-					}
-				}
-			}
-			return max;
-		}
-	}
-
-	// funktioniert das so, wie es soll?
-	private Board chain(int ply) {
-		Board ret = clone();
-		while (ply > 1) {
-			ret = ret.clone();
-			ret.nextPlayer();
-			ply--;
-		}
-		return ret;
+		return deepen(bitboard, ply, control, progress, executor, parallel, mode, table, count);
 	}
 
-	private Board getMaxSingleThreaded(int ply, AtomicInteger count) {
-		if (isGameOVer()) {
-			return chain(ply);
-		}
-		Board max = null;
-		Board temp;
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					for (int toX = 0; toX < 8; toX++) {
-						for (int toY = 0; toY < 8; toY++) {
-							temp = figures[fromX][fromY].move(toX, toY);
-							if (temp != null) {
-								count.incrementAndGet();
-							}
-							if ((temp != null) && (ply > 1)) {
-								temp = temp.getMaxSingleThreaded(ply - 1, count);
-							}
-							if ((max == null) || ((temp != null)
-									&& (temp.getScore(currentPlayer) > max.getScore(currentPlayer)))) {
-								max = temp;
-							}
-						}
-					}
-				}
+	/**
+	 * Searches the best move of a position by iterative deepening, see {@link #getMax(int, SearchControl,
+	 * DoubleConsumer, SearchExecutor, ParallelMode, SearchMode, TranspositionTable, AtomicInteger)}.
+	 *
+	 * @param bitboard the position
+	 * @param ply      the maximum number of plies to be searched
+	 * @param control  tells when to stop
+	 * @param progress receives the progress from {@code 0.0} to {@code 1.0}
+	 * @param executor searches the root moves of every iteration
+	 * @param parallel how the executor distributes the search over its threads
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table, or {@code null}
+	 * @param count    counter of searched moves
+	 * @return the best move found, or {@code null}, if there is no move
+	 */
+	static SearchResult deepen(Bitboard bitboard, int ply, SearchControl control, DoubleConsumer progress,
+			SearchExecutor executor, ParallelMode parallel, SearchMode mode, TranspositionTable table,
+			AtomicInteger count) {
+		progress.accept(0.0);
+
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		if (moves.size() == 0) {
+			return null;
+		}
+		final SearchExecutor.Helpers helpers = (parallel == ParallelMode.LAZY_SMP)
+				? executor.startHelpers(bitboard, ply, mode, table, control, count)
+				: null;
+		try {
+			return deepen(bitboard, moves, ply, control, progress, executor, parallel, mode, table, count);
+		} finally {
+			if (helpers != null) {
+				helpers.stop();
 			}
 		}
-		return max;
 	}
 
-	private Board getMaxMultiThreaded(int ply, DoubleProperty progress, AtomicInteger count) {
-		if (isGameOVer()) {
-			return chain(ply);
-		}
-		// TODO
-		final ObjectProperty<Board> max = new SimpleObjectProperty<>(null);
-		int threadCount = 0;
-
-		progress.set(0.0); // TODO eventuell verschieben
-
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					threadCount++;
-				}
+	/**
+	 * Searches the best move of a position by iterative deepening within the calling thread, while the helpers of
+	 * {@link ParallelMode#LAZY_SMP} are running.
+	 *
+	 * @param bitboard the position
+	 * @param moves    the pseudo-legal moves of the position, at least one
+	 * @param ply      the maximum number of plies to be searched
+	 * @param control  tells when to stop
+	 * @param progress receives the progress from {@code 0.0} to {@code 1.0}
+	 * @param executor searches the root moves of every iteration
+	 * @param parallel how the executor distributes the search over its threads
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table, or {@code null}
+	 * @param count    counter of searched moves
+	 * @return the best move found, or {@code null}, if there is no legal move
+	 */
+	private static SearchResult deepen(Bitboard bitboard, MoveList moves, int ply, SearchControl control,
+			DoubleConsumer progress, SearchExecutor executor, ParallelMode parallel, SearchMode mode,
+			TranspositionTable table, AtomicInteger count) {
+		final long start = System.currentTimeMillis();
+		SearchResult best = null;
+		for (int depth = 1; depth <= ply && !control.isStopped(); depth++) {
+			if (best != null) {
+				moves.moveToFront(best.getMove());
 			}
-		}
-
-		final CountDownLatch latch = new CountDownLatch(threadCount);
-
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					final int x = fromX;
-					final int y = fromY;
-					final double step = 1.0 / threadCount;
-					final Thread thread = new Thread(() -> {
-						logger.debug(figures[x][y].getCode() + " started");
-						Board temp = null;
-						final AtomicInteger countInternal = new AtomicInteger();
-						for (int toX = 0; toX < 8; toX++) {
-							for (int toY = 0; toY < 8; toY++) {
-								temp = figures[x][y].move(toX, toY);
-								if (temp != null) {
-									countInternal.incrementAndGet();
-								}
-								if ((temp != null) && (ply > 1)) {
-									// TODO DEBUG
-									final Board a = temp;
-									final Board b = a.getMaxSingleThreaded(ply - 1, countInternal);
-									temp = b;
-								}
-								if ((max.get() == null) || ((temp != null)
-										&& (temp.getScore(currentPlayer) > max.get().getScore(currentPlayer)))) {
-									max.set(temp);
-								}
-							}
-						}
-						count.addAndGet(countInternal.get());
-						String countInternalString = new DecimalFormat().format(countInternal.get()).toString();
-						latch.countDown();
-						Platform.runLater(() -> progress.set(progress.get() + step));
-						logger.debug(figures[x][y].getCode() + " finished, calculated " + countInternalString
-								+ " possible moves");
-					});
-					thread.setDaemon(true);
-					thread.start();
+			int alpha = -Search.INFINITY;
+			int beta = Search.INFINITY;
+			if (best != null && mode != SearchMode.MINIMAX && !Search.isMate(best.getScore())) {
+				alpha = best.getScore() - ASPIRATION_WINDOW;
+				beta = best.getScore() + ASPIRATION_WINDOW;
+			}
+			while (!control.isStopped()) {
+				final int iteration = depth;
+				final AtomicInteger searched = new AtomicInteger();
+				final SearchResult result = executor.search(bitboard, moves, depth, alpha, beta, mode, parallel, table,
+						control, count, () -> progress
+								.accept((iteration - 1 + (double) searched.incrementAndGet() / moves.size()) / ply));
+				if (result.getMove() != Move.NONE) {
+					best = result;
+				}
+				if (result.getMove() == Move.NONE && alpha != -Search.INFINITY && !control.isStopped()) {
+					logger.debug("depth " + depth + " failed low, searching again");
+					alpha = -Search.INFINITY;
+				} else if (result.getMove() != Move.NONE && result.getScore() >= beta) {
+					logger.debug("depth " + depth + " failed high, searching again");
+					beta = Search.INFINITY;
+				} else {
+					break;
 				}
 			}
+			final long now = System.currentTimeMillis();
+			logger.debug("depth " + depth + ((control.isStopped()) ? " stopped" : " completed") + " after "
+					+ (now - start) + " ms, principal variation " + best);
+			if (control.getDeadline() != 0L && now - start > control.getDeadline() - now) {
+				break;
+			}
+			if (best != null && !control.isStopped() && Math.abs(best.getScore()) >= CHECKMATE_SCORE - depth) {
+				logger.debug("checkmate within depth " + depth + ", no deeper search needed");
+				break;
+			}
 		}
-		try {
-			latch.await();
-		} catch (final InterruptedException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
-		return max.get();
-	}
-
-	public Board getMin(int ply, AtomicInteger count) {
-		if (isGameOVer()) {
-			return chain(ply);
+		if (best != null) {
+			return best;
 		}
-		Board min = null;
-		Board temp;
-		for (int fromX = 0; fromX < 8; fromX++) {
-			for (int fromY = 0; fromY < 8; fromY++) {
-				if (figures[fromX][fromY] != null && figures[fromX][fromY].getOwner() == currentPlayer) {
-					for (int toX = 0; toX < 8; toX++) {
-						for (int toY = 0; toY < 8; toY++) {
-							temp = figures[fromX][fromY].move(toX, toY);
-							if (temp != null) {
-								count.incrementAndGet();
-							}
-							if ((temp != null) && (ply > 1)) {
-								temp = temp.getMaxSingleThreaded(ply - 1, count);
-							}
-							if ((min == null) || ((temp != null) && (temp.getScore() < min.getScore()))) {
-								min = temp;
-							}
-						}
-					}
-				}
+		for (int i = 0; i < moves.size(); i++) {
+			if (bitboard.isLegal(moves.get(i))) {
+				return new SearchResult(moves.get(i), 0, new int[] { moves.get(i) }, 0, 0L);
 			}
 		}
-		return min;
+		return null;
 	}
 
 	/**
@@ -815,23 +857,25 @@ public class Board {
 				|| (state == State.STALEMATE_WHITE);
 	}
 
+	/**
+	 * Returns the {@link Zobrist} key of this board, which covers the figures, the current player, the castling
+	 * rights and the en passant markers.
+	 *
+	 * @return the key
+	 */
+	public long getKey() {
+		return bitboard.getKey();
+	}
+
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((currentPlayer == null) ? 0 : currentPlayer.hashCode());
-		result = prime * result + Arrays.deepHashCode(figures);
-		result = prime * result + ((from == null) ? 0 : from.hashCode());
-		result = prime * result + markerBlackX;
-		result = prime * result + markerWhiteX;
-		result = prime * result + ((previous == null) ? 0 : previous.hashCode());
-		result = prime * result + ((state == null) ? 0 : state.hashCode());
-		result = prime * result + ((to == null) ? 0 : to.hashCode());
-		result = prime * result + scoreBlackTotal;
-		result = prime * result + scoreWhiteTotal;
-		return result;
+		return bitboard.hashCode();
 	}
 
+	/**
+	 * Two boards are equal, if they represent the same position, which is the case if their {@link #getKey() keys}
+	 * are equal. The previous boards are not taken into account.
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -844,49 +888,7 @@ public class Board {
 			return false;
 		}
 		final Board other = (Board) obj;
-		if (currentPlayer != other.currentPlayer) {
-			return false;
-		}
-		if (!Arrays.deepEquals(figures, other.figures)) {
-			return false;
-		}
-		if (from == null) {
-			if (other.from != null) {
-				return false;
-			}
-		} else if (!from.equals(other.from)) {
-			return false;
-		}
-		if (markerBlackX != other.markerBlackX) {
-			return false;
-		}
-		if (markerWhiteX != other.markerWhiteX) {
-			return false;
-		}
-		if (previous == null) {
-			if (other.previous != null) {
-				return false;
-			}
-		} else if (!previous.equals(other.previous)) {
-			return false;
-		}
-		if (state != other.state) {
-			return false;
-		}
-		if (to == null) {
-			if (other.to != null) {
-				return false;
-			}
-		} else if (!to.equals(other.to)) {
-			return false;
-		}
-		if (scoreBlackTotal != other.scoreBlackTotal) {
-			return false;
-		}
-		if (scoreWhiteTotal != other.scoreWhiteTotal) {
-			return false;
-		}
-		return true;
+		return bitboard.equals(other.bitboard);
 	}
 
 }
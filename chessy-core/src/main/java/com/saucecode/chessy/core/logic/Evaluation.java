@@ -0,0 +1,96 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * The static evaluation used by {@link Search}. It adds the pawn structure, which is cached by a {@link PawnTable}, to
+ * the material and piece-square scores, which a {@link Bitboard} updates incrementally. Complete evaluations are
+ * cached by an {@link EvaluationTable}. Both tables are shared by all searches, as the evaluation of a position never
+ * changes.
+ * <p>
+ * The material and piece-square scores are cheap, while the other terms are expensive. If the cheap score lies so far
+ * outside of the search window, that the expensive terms cannot bring it back, it is returned as it is (lazy
+ * evaluation). The pawn structure is the only expensive term, so the margin is its bound {@link PawnTable#MAX_SCORE}.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class Evaluation {
+
+	/**
+	 * Maximum amount by which the expensive terms can change the cheap score.
+	 */
+	static final int LAZY_MARGIN = PawnTable.MAX_SCORE;
+
+	/**
+	 * Number of entries of the pawn table.
+	 */
+	private static final int PAWN_TABLE_ENTRIES = 1 << 14;
+
+	/**
+	 * Number of entries of the evaluation table.
+	 */
+	private static final int EVALUATION_TABLE_ENTRIES = 1 << 16;
+
+	/**
+	 * Caches the pawn structures of all searches.
+	 */
+	private static final PawnTable PAWNS = new PawnTable(PAWN_TABLE_ENTRIES);
+
+	/**
+	 * Caches the evaluations of all searches.
+	 */
+	private static final EvaluationTable EVALUATIONS = new EvaluationTable(EVALUATION_TABLE_ENTRIES);
+
+	/**
+	 * Not instantiable.
+	 */
+	private Evaluation() {
+	}
+
+	/**
+	 * Evaluates a position for the color to move, which is computed and stored, if the evaluation table has no entry
+	 * for it.
+	 *
+	 * @param bitboard the position
+	 * @return the score of the color to move minus the score of the opponent
+	 */
+	public static int evaluate(Bitboard bitboard) {
+		final long key = bitboard.getKey();
+		final long entry = EVALUATIONS.probe(key);
+		if (entry != EvaluationTable.MISS) {
+			return EvaluationTable.getScore(entry);
+		}
+		final int score = compute(bitboard);
+		EVALUATIONS.store(key, score);
+		return score;
+	}
+
+	/**
+	 * Evaluates a position for the color to move, as far as needed for a search window. The score is only exact if
+	 * the cheap score lies within {@link #LAZY_MARGIN} of the window. Otherwise it is the cheap score, which lies on
+	 * the same side of the window as the exact score, as the expensive terms are bounded by {@link #LAZY_MARGIN}.
+	 *
+	 * @param bitboard the position
+	 * @param alpha    the score the color to move has already secured
+	 * @param beta     the score the opponent has already secured, negated
+	 * @return the score of the color to move minus the score of the opponent
+	 */
+	public static int evaluate(Bitboard bitboard, int alpha, int beta) {
+		final int score = bitboard.getScore(bitboard.getSideToMove());
+		if (score - LAZY_MARGIN >= beta || score + LAZY_MARGIN <= alpha) {
+			return score;
+		}
+		return evaluate(bitboard);
+	}
+
+	/**
+	 * Evaluates a position for the color to move without consulting the evaluation table.
+	 *
+	 * @param bitboard the position
+	 * @return the score of the color to move minus the score of the opponent
+	 */
+	static int compute(Bitboard bitboard) {
+		final int color = bitboard.getSideToMove();
+		final int pawns = PAWNS.getScore(bitboard);
+		return bitboard.getScore(color) + ((color == Bitboard.WHITE) ? pawns : -pawns);
+	}
+
+}
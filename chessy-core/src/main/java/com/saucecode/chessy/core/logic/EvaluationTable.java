@@ -0,0 +1,97 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * A fixed-size, direct-mapped cache of static evaluations, which stores the score of a position by its
+ * {@link Zobrist} key. The quiescence search evaluates the same positions many times, which are then answered by the
+ * table. Like the {@link TranspositionTable}, every entry occupies two {@code long} values, the key XORed with the data
+ * and the data itself, so the table can be shared by all search threads without any locks. The data is the score in
+ * its lower 32 bits.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class EvaluationTable {
+
+	/**
+	 * Returned by {@link #probe(long)}, if there is no entry for a key.
+	 */
+	public static final long MISS = -1L;
+
+	/**
+	 * The entries, two values each.
+	 */
+	private final long[] table;
+
+	/**
+	 * Mask for mapping a key to an entry index.
+	 */
+	private final int mask;
+
+	/**
+	 * Creates a new, empty {@link EvaluationTable}.
+	 *
+	 * @param entries the number of entries, which is rounded down to a power of two
+	 * @throws IllegalArgumentException if {@code entries} is not positive
+	 */
+	public EvaluationTable(int entries) {
+		if (entries < 1) {
+			throw new IllegalArgumentException("entries must be positive");
+		}
+		final int size = Integer.highestOneBit(entries);
+		table = new long[size * 2];
+		mask = size - 1;
+		clear();
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		for (int i = 0; i < table.length; i += 2) {
+			table[i] = 0L;
+			table[i + 1] = MISS;
+		}
+	}
+
+	/**
+	 * Returns the data stored for a position.
+	 *
+	 * @param key key of the position
+	 * @return
+	 *         <ul>
+	 *         <li>the data, which can be decoded by {@link #getScore(long)}</li>
+	 *         <li>{@link #MISS}, if there is no valid entry</li>
+	 *         </ul>
+	 */
+	public long probe(long key) {
+		final int index = ((int) key & mask) << 1;
+		final long data = table[index + 1];
+		if ((table[index] ^ data) != key) {
+			return MISS;
+		}
+		return data;
+	}
+
+	/**
+	 * Stores the evaluation of a position, replacing any other entry.
+	 *
+	 * @param key   key of the position
+	 * @param score the score
+	 */
+	public void store(long key, int score) {
+		final int index = ((int) key & mask) << 1;
+		final long data = score & 0xFFFFFFFFL;
+		table[index] = key ^ data;
+		table[index + 1] = data;
+	}
+
+	/**
+	 * Returns the score of an entry.
+	 *
+	 * @param data the entry data
+	 * @return the score
+	 */
+	public static int getScore(long data) {
+		return (int) data;
+	}
+
+}
@@ -67,23 +67,68 @@ public abstract class Figure {
 	 *         </ul>
 	 */
 	public Board move(int toX, int toY) {
-		Board ret = null;
-		if (isSquareReachable(toX, toY)) {
-			ret = board.clone();
-			ret.resetMarker();
-			ret.setFrom(new Position(x, y));
-			ret.setTo(new Position(toX, toY));
-			ret.setFigure(toX, toY, ret.removeFigure(x, y));
-			ret.getFigure(toX, toY).setX(toX);
-			ret.getFigure(toX, toY).setY(toY);
-			ret.promote();
-			if (ret.isInCheck(ret.getCurrentPlayer())) {
-				ret = null;
-			} else {
-				ret.nextPlayer();
-				ret.updateStatus();
-				ret.evaluate();
-			}
+		final int move = getMove(toX, toY);
+		return (move == Move.NONE) ? null : move(move);
+	}
+
+	/**
+	 * Returns the move of this figure to a desired location, including all information needed to perform it, like
+	 * captured figures and special move types. This method has no side effects, so it may be called by any number of
+	 * threads at once.
+	 *
+	 * @param toX x-coordinate of target location
+	 * @param toY y-coordinate of target location
+	 * @return
+	 *         <ul>
+	 *         <li>the move, encoded as defined by {@link Move}</li>
+	 *         <li>{@link Move#NONE}, if the target location is not reachable</li>
+	 *         </ul>
+	 */
+	public int getMove(int toX, int toY) {
+		return isSquareReachable(toX, toY) ? createMove(toX, toY, Move.NORMAL) : Move.NONE;
+	}
+
+	/**
+	 * Encodes a move of this figure, capturing the figure on the target location, if there is any.
+	 *
+	 * @param toX  x-coordinate of target location
+	 * @param toY  y-coordinate of target location
+	 * @param flag the flag of the move
+	 * @return the encoded move
+	 */
+	protected int createMove(int toX, int toY, int flag) {
+		final Figure captured = board.getFigure(toX, toY);
+		return Move.create(Bitboard.square(x, y), Bitboard.square(toX, toY), Bitboard.piece(getFigureType()),
+				(captured == null) ? Bitboard.NO_PIECE : Bitboard.piece(captured.getFigureType()), flag);
+	}
+
+	/**
+	 * Performs a move returned by {@link #getMove(int, int)}, without checking it again.
+	 *
+	 * @param move the move
+	 * @return
+	 *         <ul>
+	 *         <li>the resulting board of the move</li>
+	 *         <li>{@code null}, if the move leaves the own king in check</li>
+	 *         </ul>
+	 */
+	protected Board move(int move) {
+		final int toX = Move.to(move) & 7;
+		final int toY = Move.to(move) >>> 3;
+		Board ret = board.clone();
+		ret.resetMarker();
+		ret.setFrom(new Position(x, y));
+		ret.setTo(new Position(toX, toY));
+		ret.setFigure(toX, toY, ret.removeFigure(x, y));
+		ret.getFigure(toX, toY).setX(toX);
+		ret.getFigure(toX, toY).setY(toY);
+		ret.promote();
+		if (ret.isInCheck(ret.getCurrentPlayer())) {
+			ret = null;
+		} else {
+			ret.nextPlayer();
+			ret.updateStatus();
+			ret.verifyScores();
 		}
 		return ret;
 	}
@@ -0,0 +1,148 @@
+package com.saucecode.chessy.core.logic;
+
+import com.saucecode.chessy.core.Position;
+
+/**
+ * Encodes moves as {@code int} values, so move lists can be stored without allocating objects. The bits are laid out
+ * as follows:
+ * <ul>
+ * <li>bits 0 - 5: origin square</li>
+ * <li>bits 6 - 11: target square</li>
+ * <li>bits 12 - 15: moving piece</li>
+ * <li>bits 16 - 19: captured piece plus one, {@code 0} if nothing is captured</li>
+ * <li>bits 20 - 22: flag</li>
+ * </ul>
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class Move {
+
+	/**
+	 * No move.
+	 */
+	public static final int NONE = 0;
+
+	/**
+	 * Flag of an ordinary move or capture.
+	 */
+	public static final int NORMAL = 0;
+
+	/**
+	 * Flag of a pawn moving two squares.
+	 */
+	public static final int DOUBLE_PUSH = 1;
+
+	/**
+	 * Flag of an en passant capture.
+	 */
+	public static final int EN_PASSANT = 2;
+
+	/**
+	 * Flag of a castling move. Origin and target are the squares of the king.
+	 */
+	public static final int CASTLING = 3;
+
+	/**
+	 * Flag of a pawn being promoted to a queen.
+	 */
+	public static final int PROMOTION = 4;
+
+	/**
+	 * Not instantiable.
+	 */
+	private Move() {
+	}
+
+	/**
+	 * Creates a move.
+	 *
+	 * @param from     origin square
+	 * @param to       target square
+	 * @param piece    moving piece
+	 * @param captured captured piece, or {@link Bitboard#NO_PIECE}
+	 * @param flag     the flag
+	 * @return the encoded move
+	 */
+	public static int create(int from, int to, int piece, int captured, int flag) {
+		return from | (to << 6) | (piece << 12) | ((captured + 1) << 16) | (flag << 20);
+	}
+
+	/**
+	 * Returns the origin square.
+	 *
+	 * @param move the move
+	 * @return origin square
+	 */
+	public static int from(int move) {
+		return move & 0x3F;
+	}
+
+	/**
+	 * Returns the target square.
+	 *
+	 * @param move the move
+	 * @return target square
+	 */
+	public static int to(int move) {
+		return (move >>> 6) & 0x3F;
+	}
+
+	/**
+	 * Returns the moving piece.
+	 *
+	 * @param move the move
+	 * @return moving piece
+	 */
+	public static int piece(int move) {
+		return (move >>> 12) & 0xF;
+	}
+
+	/**
+	 * Returns the captured piece.
+	 *
+	 * @param move the move
+	 * @return
+	 *         <ul>
+	 *         <li>the captured piece</li>
+	 *         <li>{@link Bitboard#NO_PIECE}, if nothing is captured</li>
+	 *         </ul>
+	 */
+	public static int captured(int move) {
+		return ((move >>> 16) & 0xF) - 1;
+	}
+
+	/**
+	 * Returns the flag.
+	 *
+	 * @param move the move
+	 * @return flag
+	 */
+	public static int flag(int move) {
+		return (move >>> 20) & 0x7;
+	}
+
+	/**
+	 * Returns whether a move captures a piece.
+	 *
+	 * @param move the move
+	 * @return {@code true}, if a piece is captured
+	 */
+	public static boolean isCapture(int move) {
+		return (move & (0xF << 16)) != 0;
+	}
+
+	/**
+	 * Returns the string representation of a move, e.g. {@code e2e4}.
+	 *
+	 * @param move the move
+	 * @return string representation
+	 */
+	public static String toString(int move) {
+		if (move == NONE) {
+			return "none";
+		}
+		return new Position(from(move) & 7, from(move) >>> 3).toString()
+				+ new Position(to(move) & 7, to(move) >>> 3).toString();
+	}
+
+}
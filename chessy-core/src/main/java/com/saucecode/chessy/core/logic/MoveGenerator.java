@@ -0,0 +1,313 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * Generates pseudo-legal moves of a {@link Bitboard}. A pseudo-legal move follows the movement rules of its piece,
+ * but may leave the own king in check.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class MoveGenerator {
+
+	/**
+	 * Not instantiable.
+	 */
+	private MoveGenerator() {
+	}
+
+	/**
+	 * Generates all pseudo-legal moves of the color to move.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list, which will be cleared and filled
+	 */
+	public static void generate(Bitboard bitboard, MoveList list) {
+		generate(bitboard, list, true, true);
+	}
+
+	/**
+	 * Generates all pseudo-legal captures and promotions of the color to move.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list, which will be cleared and filled
+	 */
+	public static void generateCaptures(Bitboard bitboard, MoveList list) {
+		generate(bitboard, list, true, false);
+	}
+
+	/**
+	 * Generates all pseudo-legal moves of the color to move, which are neither captures nor promotions.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list, which will be cleared and filled
+	 */
+	public static void generateQuiets(Bitboard bitboard, MoveList list) {
+		generate(bitboard, list, false, true);
+	}
+
+	/**
+	 * Generates the pseudo-legal moves of the color to move.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list, which will be cleared and filled
+	 * @param captures whether to generate captures and promotions
+	 * @param quiets   whether to generate all other moves
+	 */
+	private static void generate(Bitboard bitboard, MoveList list, boolean captures, boolean quiets) {
+		list.clear();
+		final int color = bitboard.getSideToMove();
+		final long targets = (captures ? bitboard.getOccupancy(color ^ 1) : 0L)
+				| (quiets ? ~bitboard.getOccupied() : 0L);
+		final long occupied = bitboard.getOccupied();
+		generatePawnMoves(bitboard, list, color, captures, quiets);
+		for (int type = Bitboard.KNIGHT; type < Bitboard.KING; type++) {
+			long pieces = bitboard.getPieces(color, type);
+			while (pieces != 0L) {
+				final int from = Long.numberOfTrailingZeros(pieces);
+				addMoves(bitboard, list, from, getAttacks(type, from, occupied) & targets);
+				pieces &= pieces - 1;
+			}
+		}
+		final int king = bitboard.getKingSquare(color);
+		if (king != -1) {
+			addMoves(bitboard, list, king, Attacks.king(king) & targets);
+			if (quiets) {
+				generateCastlingMoves(bitboard, list, color, king);
+			}
+		}
+	}
+
+	/**
+	 * Returns the squares attacked by a piece, which is not a pawn.
+	 *
+	 * @param type     type of the piece
+	 * @param square   square of the piece
+	 * @param occupied all occupied squares
+	 * @return the attacked squares
+	 */
+	private static long getAttacks(int type, int square, long occupied) {
+		switch (type) {
+		case Bitboard.KNIGHT:
+			return Attacks.knight(square);
+		case Bitboard.BISHOP:
+			return Attacks.bishop(square, occupied);
+		case Bitboard.ROOK:
+			return Attacks.rook(square, occupied);
+		case Bitboard.QUEEN:
+			return Attacks.queen(square, occupied);
+		case Bitboard.KING:
+			return Attacks.king(square);
+		default:
+			throw new IllegalArgumentException("no such piece type");
+		}
+	}
+
+	/**
+	 * Returns whether a move is pseudo-legal in a position, which means {@link #generate(Bitboard, MoveList)} would
+	 * generate it. This is used to check moves, which have been found in other positions, like the moves of the
+	 * transposition table or killer moves, without generating all moves.
+	 *
+	 * @param bitboard the position
+	 * @param move     the move
+	 * @return {@code true}, if the move is pseudo-legal
+	 */
+	@SuppressWarnings("fallthrough")
+	public static boolean isPseudoLegal(Bitboard bitboard, int move) {
+		if (move == Move.NONE) {
+			return false;
+		}
+		final int color = bitboard.getSideToMove();
+		final int from = Move.from(move);
+		final int to = Move.to(move);
+		final int piece = Move.piece(move);
+		final int captured = Move.captured(move);
+		final int flag = Move.flag(move);
+		if (Bitboard.colorOf(piece) != color || bitboard.getPiece(from) != piece) {
+			return false;
+		}
+		final int forward = (color == Bitboard.WHITE) ? 8 : -8;
+		if (flag == Move.EN_PASSANT) {
+			final int file = bitboard.getEnPassant();
+			final int victim = to - forward;
+			return file == (to & 7) && (victim >>> 3) == ((color == Bitboard.WHITE) ? 4 : 3)
+					&& captured == Bitboard.piece(color ^ 1, Bitboard.PAWN) && bitboard.getPiece(victim) == captured
+					&& bitboard.getPiece(to) == Bitboard.NO_PIECE && (Attacks.pawn(color, from) & (1L << to)) != 0L;
+		}
+		if (bitboard.getPiece(to) != captured
+				|| (captured != Bitboard.NO_PIECE && Bitboard.colorOf(captured) == color)) {
+			return false;
+		}
+		switch (Bitboard.typeOf(piece)) {
+		case Bitboard.PAWN:
+			if (flag == Move.DOUBLE_PUSH) {
+				return (from >>> 3) == ((color == Bitboard.WHITE) ? 1 : 6) && to == from + 2 * forward
+						&& bitboard.getPiece(from + forward) == Bitboard.NO_PIECE;
+			}
+			if (flag != (((to >>> 3) == ((color == Bitboard.WHITE) ? 7 : 0)) ? Move.PROMOTION : Move.NORMAL)) {
+				return false;
+			}
+			if (captured == Bitboard.NO_PIECE) {
+				return to == from + forward;
+			}
+			return (Attacks.pawn(color, from) & (1L << to)) != 0L;
+		case Bitboard.KING:
+			if (flag == Move.CASTLING) {
+				return (to == from + 2 && canCastle(bitboard, color, from, true))
+						|| (to == from - 2 && canCastle(bitboard, color, from, false));
+			}
+			// fall through
+		default:
+			return flag == Move.NORMAL
+					&& (getAttacks(Bitboard.typeOf(piece), from, bitboard.getOccupied()) & (1L << to)) != 0L;
+		}
+	}
+
+	/**
+	 * Adds a move to every target square.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list
+	 * @param from     origin square
+	 * @param targets  target squares
+	 */
+	private static void addMoves(Bitboard bitboard, MoveList list, int from, long targets) {
+		final int piece = bitboard.getPiece(from);
+		while (targets != 0L) {
+			final int to = Long.numberOfTrailingZeros(targets);
+			list.add(Move.create(from, to, piece, bitboard.getPiece(to), Move.NORMAL));
+			targets &= targets - 1;
+		}
+	}
+
+	/**
+	 * Generates pawn moves. Captures include en passant captures, promotions include promoting captures and all
+	 * other moves include double pushes.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list
+	 * @param color    the color to move
+	 * @param captures whether to generate captures and promotions
+	 * @param quiets   whether to generate all other moves
+	 */
+	private static void generatePawnMoves(Bitboard bitboard, MoveList list, int color, boolean captures,
+			boolean quiets) {
+		final int piece = Bitboard.piece(color, Bitboard.PAWN);
+		final int forward = (color == Bitboard.WHITE) ? 8 : -8;
+		final int startRank = (color == Bitboard.WHITE) ? 1 : 6;
+		final int lastRank = (color == Bitboard.WHITE) ? 7 : 0;
+		final long occupied = bitboard.getOccupied();
+		final long enemies = bitboard.getOccupancy(color ^ 1);
+		long pawns = bitboard.getPieces(color, Bitboard.PAWN);
+		while (pawns != 0L) {
+			final int from = Long.numberOfTrailingZeros(pawns);
+			final int to = from + forward;
+			final int flag = ((to >>> 3) == lastRank) ? Move.PROMOTION : Move.NORMAL;
+			if ((occupied & (1L << to)) == 0L) {
+				if ((flag == Move.PROMOTION) ? captures : quiets) {
+					list.add(Move.create(from, to, piece, Bitboard.NO_PIECE, flag));
+				}
+				if (quiets && (from >>> 3) == startRank && (occupied & (1L << (to + forward))) == 0L) {
+					list.add(Move.create(from, to + forward, piece, Bitboard.NO_PIECE, Move.DOUBLE_PUSH));
+				}
+			}
+			long targets = captures ? Attacks.pawn(color, from) & enemies : 0L;
+			while (targets != 0L) {
+				final int target = Long.numberOfTrailingZeros(targets);
+				list.add(Move.create(from, target, piece, bitboard.getPiece(target), flag));
+				targets &= targets - 1;
+			}
+			pawns &= pawns - 1;
+		}
+		final int file = bitboard.getEnPassant();
+		if (captures && file != -1) {
+			final int victim = Bitboard.square(file, (color == Bitboard.WHITE) ? 4 : 3);
+			final int target = victim + forward;
+			if (bitboard.getPiece(victim) == Bitboard.piece(color ^ 1, Bitboard.PAWN)
+					&& (occupied & (1L << target)) == 0L) {
+				long attackers = Attacks.pawn(color ^ 1, target) & bitboard.getPieces(color, Bitboard.PAWN);
+				while (attackers != 0L) {
+					final int from = Long.numberOfTrailingZeros(attackers);
+					list.add(Move.create(from, target, piece, bitboard.getPiece(victim), Move.EN_PASSANT));
+					attackers &= attackers - 1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Generates castling moves. The king must not be in check and must not pass an attacked square. Whether the
+	 * target square is attacked is left to the legality test.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list
+	 * @param color    the color to move
+	 * @param king     square of the king
+	 */
+	private static void generateCastlingMoves(Bitboard bitboard, MoveList list, int color, int king) {
+		final int piece = Bitboard.piece(color, Bitboard.KING);
+		if (canCastle(bitboard, color, king, true)) {
+			list.add(Move.create(king, king + 2, piece, Bitboard.NO_PIECE, Move.CASTLING));
+		}
+		if (canCastle(bitboard, color, king, false)) {
+			list.add(Move.create(king, king - 2, piece, Bitboard.NO_PIECE, Move.CASTLING));
+		}
+	}
+
+	/**
+	 * Returns whether a color may castle to one side, as far as this is checked by
+	 * {@link #generateCastlingMoves(Bitboard, MoveList, int, int)}.
+	 *
+	 * @param bitboard the position
+	 * @param color    the color to move
+	 * @param king     square of the king
+	 * @param kingSide {@code true} for castling king side, {@code false} for queen side
+	 * @return {@code true}, if castling is pseudo-legal
+	 */
+	private static boolean canCastle(Bitboard bitboard, int color, int king, boolean kingSide) {
+		final int right;
+		if (kingSide) {
+			right = (color == Bitboard.WHITE) ? Bitboard.CASTLING_WHITE_KING : Bitboard.CASTLING_BLACK_KING;
+		} else {
+			right = (color == Bitboard.WHITE) ? Bitboard.CASTLING_WHITE_QUEEN : Bitboard.CASTLING_BLACK_QUEEN;
+		}
+		if ((bitboard.getCastling() & right) == 0) {
+			return false;
+		}
+		final long empty = kingSide ? 3L << (king + 1) : 7L << (king - 3);
+		return (bitboard.getOccupied() & empty) == 0L && !bitboard.isSquareAttacked(king, color ^ 1)
+				&& !bitboard.isSquareAttacked(kingSide ? king + 1 : king - 1, color ^ 1);
+	}
+
+	/**
+	 * Returns whether the color to move has at least one legal move. The moves are generated in stages, like by
+	 * {@link MovePicker}, so the quiet moves are only generated if no capture is legal.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list, which will be used for generating
+	 * @return {@code true}, if there is a legal move
+	 */
+	public static boolean hasLegalMove(Bitboard bitboard, MoveList list) {
+		generateCaptures(bitboard, list);
+		if (containsLegalMove(bitboard, list)) {
+			return true;
+		}
+		generateQuiets(bitboard, list);
+		return containsLegalMove(bitboard, list);
+	}
+
+	/**
+	 * Returns whether a list contains a legal move.
+	 *
+	 * @param bitboard the position
+	 * @param list     the list
+	 * @return {@code true}, if there is a legal move
+	 */
+	private static boolean containsLegalMove(Bitboard bitboard, MoveList list) {
+		for (int i = 0; i < list.size(); i++) {
+			if (bitboard.isLegal(list.get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
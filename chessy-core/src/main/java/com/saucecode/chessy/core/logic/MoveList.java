@@ -0,0 +1,138 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * A reusable list of moves encoded by {@link Move}. Clearing the list does not free its storage, so one instance per
+ * search depth suffices.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class MoveList {
+
+	/**
+	 * Maximum number of moves. No legal chess position has more than 218 moves.
+	 */
+	public static final int CAPACITY = 256;
+
+	/**
+	 * The moves.
+	 */
+	private final int[] moves;
+
+	/**
+	 * The ordering scores of the moves.
+	 */
+	private final int[] scores;
+
+	/**
+	 * Number of stored moves.
+	 */
+	private int size;
+
+	/**
+	 * Creates a new, empty {@link MoveList}.
+	 */
+	public MoveList() {
+		moves = new int[CAPACITY];
+		scores = new int[CAPACITY];
+		size = 0;
+	}
+
+	/**
+	 * Removes all moves.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Appends a move.
+	 *
+	 * @param move the move
+	 */
+	public void add(int move) {
+		moves[size++] = move;
+	}
+
+	/**
+	 * Returns a move.
+	 *
+	 * @param index index of the move
+	 * @return the move
+	 */
+	public int get(int index) {
+		return moves[index];
+	}
+
+	/**
+	 * Sets the ordering score of a move.
+	 *
+	 * @param index index of the move
+	 * @param score the score, higher scores are picked first
+	 */
+	public void setScore(int index, int score) {
+		scores[index] = score;
+	}
+
+	/**
+	 * Returns the ordering score of a move.
+	 *
+	 * @param index index of the move
+	 * @return the score
+	 */
+	public int getScore(int index) {
+		return scores[index];
+	}
+
+	/**
+	 * Swaps the move with the highest score among all moves from an index on to that index and returns it. Picking
+	 * the moves of indices {@code 0, 1, 2, ...} yields them ordered by their scores, while only moves which are
+	 * actually needed are sorted.
+	 *
+	 * @param index index of the move
+	 * @return the picked move
+	 */
+	public int pick(int index) {
+		int best = index;
+		for (int i = index + 1; i < size; i++) {
+			if (scores[i] > scores[best]) {
+				best = i;
+			}
+		}
+		if (best != index) {
+			final int move = moves[best];
+			final int score = scores[best];
+			moves[best] = moves[index];
+			scores[best] = scores[index];
+			moves[index] = move;
+			scores[index] = score;
+		}
+		return moves[index];
+	}
+
+	/**
+	 * Moves a move to the front of the list, keeping the order of all other moves.
+	 *
+	 * @param move the move
+	 * @return {@code true}, if the list contains the move
+	 */
+	public boolean moveToFront(int move) {
+		for (int i = 0; i < size; i++) {
+			if (moves[i] == move) {
+				System.arraycopy(moves, 0, moves, 1, i);
+				moves[0] = move;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of moves.
+	 *
+	 * @return number of moves
+	 */
+	public int size() {
+		return size;
+	}
+
+}
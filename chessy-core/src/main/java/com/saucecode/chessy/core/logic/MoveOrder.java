@@ -0,0 +1,161 @@
+package com.saucecode.chessy.core.logic;
+
+import java.util.Arrays;
+
+import com.saucecode.chessy.core.figures.Bishop;
+import com.saucecode.chessy.core.figures.King;
+import com.saucecode.chessy.core.figures.Knight;
+import com.saucecode.chessy.core.figures.Pawn;
+import com.saucecode.chessy.core.figures.Queen;
+import com.saucecode.chessy.core.figures.Rook;
+
+/**
+ * Scores the moves of a node for {@link MovePicker}, so that a pruning search finds cutoffs early:
+ * <ul>
+ * <li>captures and promotions are ordered with the most valuable victim first and among these the least valuable
+ * attacker first (MVV-LVA)</li>
+ * <li>killer moves are quiet moves, which caused a cutoff at the same depth before</li>
+ * <li>all other quiet moves are ordered by how often they caused a cutoff anywhere in the tree (history
+ * heuristic)</li>
+ * </ul>
+ * An instance belongs to a single {@link Search}.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class MoveOrder {
+
+	/**
+	 * Maximum score of the history heuristic. Once reached, all history scores are halved.
+	 */
+	static final int HISTORY_MAX = 300_000;
+
+	/**
+	 * Values of all piece types.
+	 */
+	static final int[] VALUES = { Pawn.VALUE, Knight.VALUE, Bishop.VALUE, Rook.VALUE, Queen.VALUE, King.VALUE };
+
+	/**
+	 * Two killer moves per remaining ply.
+	 */
+	private final int[][] killers;
+
+	/**
+	 * History scores per piece and target square.
+	 */
+	private final int[][] history;
+
+	/**
+	 * Creates a new {@link MoveOrder}.
+	 *
+	 * @param ply the maximum number of plies to be searched
+	 */
+	public MoveOrder(int ply) {
+		killers = new int[ply + 1][2];
+		history = new int[12][64];
+	}
+
+	/**
+	 * Forgets all killer moves and history scores.
+	 */
+	public void clear() {
+		for (final int[] slots : killers) {
+			slots[0] = Move.NONE;
+			slots[1] = Move.NONE;
+		}
+		for (final int[] piece : history) {
+			Arrays.fill(piece, 0);
+		}
+	}
+
+	/**
+	 * Replaces all killer moves and history scores by those of another instance. Killer moves of more remaining
+	 * plies than the other instance supports are cleared.
+	 *
+	 * @param other the instance to be copied
+	 */
+	public void set(MoveOrder other) {
+		for (int ply = 0; ply < killers.length; ply++) {
+			killers[ply][0] = (ply < other.killers.length) ? other.killers[ply][0] : Move.NONE;
+			killers[ply][1] = (ply < other.killers.length) ? other.killers[ply][1] : Move.NONE;
+		}
+		for (int piece = 0; piece < history.length; piece++) {
+			System.arraycopy(other.history[piece], 0, history[piece], 0, history[piece].length);
+		}
+	}
+
+	/**
+	 * Returns the score of a capture or promotion.
+	 *
+	 * @param move the move
+	 * @return the score, higher scores are tried first
+	 */
+	public int scoreCapture(int move) {
+		int score = -Bitboard.typeOf(Move.piece(move));
+		if (Move.isCapture(move)) {
+			score += VALUES[Bitboard.typeOf(Move.captured(move))] * 8;
+		}
+		if (Move.flag(move) == Move.PROMOTION) {
+			score += (Queen.VALUE - Pawn.VALUE) * 8;
+		}
+		return score;
+	}
+
+	/**
+	 * Returns whether a capture or promotion cannot lose material, because the victim is at least as valuable as the
+	 * attacker. Only the other captures need a {@link StaticExchange} evaluation.
+	 *
+	 * @param move the move
+	 * @return {@code true}, if the move is certainly a good capture
+	 */
+	public boolean isGoodCapture(int move) {
+		return Move.flag(move) == Move.PROMOTION
+				|| VALUES[Bitboard.typeOf(Move.captured(move))] >= VALUES[Bitboard.typeOf(Move.piece(move))];
+	}
+
+	/**
+	 * Returns the score of a quiet move.
+	 *
+	 * @param move the move
+	 * @return the history score, higher scores are tried first
+	 */
+	public int scoreQuiet(int move) {
+		return history[Move.piece(move)][Move.to(move)];
+	}
+
+	/**
+	 * Returns a killer move.
+	 *
+	 * @param ply  number of remaining plies
+	 * @param slot {@code 0} for the most recent killer move, {@code 1} for the one before
+	 * @return the killer move, or {@link Move#NONE}
+	 */
+	public int getKiller(int ply, int slot) {
+		return killers[ply][slot];
+	}
+
+	/**
+	 * Records a quiet move, which caused a cutoff, as killer move and in the history table.
+	 *
+	 * @param move the move
+	 * @param ply  number of remaining plies
+	 */
+	public void update(int move, int ply) {
+		if (Move.isCapture(move) || Move.flag(move) == Move.PROMOTION) {
+			return;
+		}
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		final int[] scores = history[Move.piece(move)];
+		scores[Move.to(move)] += ply * ply;
+		if (scores[Move.to(move)] > HISTORY_MAX) {
+			for (final int[] piece : history) {
+				for (int square = 0; square < 64; square++) {
+					piece[square] /= 2;
+				}
+			}
+		}
+	}
+
+}
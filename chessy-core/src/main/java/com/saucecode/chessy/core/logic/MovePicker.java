@@ -0,0 +1,247 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * Yields the pseudo-legal moves of a node one by one, in stages:
+ * <ol>
+ * <li>the best move stored in the transposition table</li>
+ * <li>good captures and promotions, which do not lose material according to {@link StaticExchange}</li>
+ * <li>killer moves</li>
+ * <li>all other quiet moves</li>
+ * <li>bad captures, the least losing first</li>
+ * </ol>
+ * The moves of a stage are only generated once all previous stages are exhausted, so nodes which are cut off by an
+ * early move never generate the quiet moves. Within a stage the moves are picked by the scores of a
+ * {@link MoveOrder}. An instance can be reused for any number of nodes, but only for one at a time.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class MovePicker {
+
+	/**
+	 * Stage yielding the hash move.
+	 */
+	private static final int HASH_MOVE = 0;
+
+	/**
+	 * Stage generating the captures.
+	 */
+	private static final int GENERATE_CAPTURES = 1;
+
+	/**
+	 * Stage yielding the good captures.
+	 */
+	private static final int GOOD_CAPTURES = 2;
+
+	/**
+	 * Stage yielding the killer moves.
+	 */
+	private static final int KILLERS = 3;
+
+	/**
+	 * Stage generating the quiet moves.
+	 */
+	private static final int GENERATE_QUIETS = 4;
+
+	/**
+	 * Stage yielding the quiet moves.
+	 */
+	private static final int QUIETS = 5;
+
+	/**
+	 * Stage yielding the bad captures.
+	 */
+	private static final int BAD_CAPTURES = 6;
+
+	/**
+	 * All moves have been yielded.
+	 */
+	private static final int DONE = 7;
+
+	/**
+	 * Subtracted from the scores of bad captures, so they are picked after all good ones.
+	 */
+	private static final int BAD_CAPTURE = 1_000_000;
+
+	/**
+	 * The position.
+	 */
+	private final Bitboard bitboard;
+
+	/**
+	 * Scores the moves.
+	 */
+	private final MoveOrder order;
+
+	/**
+	 * The captures and promotions.
+	 */
+	private final MoveList captures;
+
+	/**
+	 * The quiet moves.
+	 */
+	private final MoveList quiets;
+
+	/**
+	 * The killer moves of the node.
+	 */
+	private final int[] killers;
+
+	/**
+	 * Scratch array of every {@link StaticExchange} evaluation.
+	 */
+	private final int[] gain;
+
+	/**
+	 * The current stage.
+	 */
+	private int stage;
+
+	/**
+	 * Index of the next move within the list of the current stage.
+	 */
+	private int index;
+
+	/**
+	 * Index of the next bad capture.
+	 */
+	private int badIndex;
+
+	/**
+	 * The best move stored in the transposition table, or {@link Move#NONE}.
+	 */
+	private int hashMove;
+
+	/**
+	 * Whether only captures and promotions are yielded.
+	 */
+	private boolean capturesOnly;
+
+	/**
+	 * Creates a new {@link MovePicker}.
+	 *
+	 * @param bitboard the position, which is shared and not copied
+	 * @param order    scores the moves
+	 */
+	public MovePicker(Bitboard bitboard, MoveOrder order) {
+		this.bitboard = bitboard;
+		this.order = order;
+		captures = new MoveList();
+		quiets = new MoveList();
+		killers = new int[2];
+		gain = new int[StaticExchange.MAX_CAPTURES];
+		stage = DONE;
+	}
+
+	/**
+	 * Starts yielding the moves of the current position.
+	 *
+	 * @param hashMove the best move stored in the transposition table, or {@link Move#NONE}
+	 * @param ply      number of remaining plies, which selects the killer moves
+	 */
+	public void init(int hashMove, int ply) {
+		this.hashMove = hashMove;
+		killers[0] = order.getKiller(ply, 0);
+		killers[1] = order.getKiller(ply, 1);
+		capturesOnly = false;
+		stage = HASH_MOVE;
+	}
+
+	/**
+	 * Starts yielding the good captures and promotions of the current position. Bad captures are skipped, as they are
+	 * not expected to improve the score of a quiescence search.
+	 */
+	public void initCaptures() {
+		hashMove = Move.NONE;
+		capturesOnly = true;
+		stage = GENERATE_CAPTURES;
+	}
+
+	/**
+	 * Returns the next move. The position must be the same as when {@link #init(int, int)} was called.
+	 *
+	 * @return the next pseudo-legal move, or {@link Move#NONE} if all moves have been yielded
+	 */
+	@SuppressWarnings("fallthrough")
+	public int next() {
+		switch (stage) {
+		case HASH_MOVE:
+			stage = GENERATE_CAPTURES;
+			if (MoveGenerator.isPseudoLegal(bitboard, hashMove)) {
+				return hashMove;
+			}
+			// fall through
+		case GENERATE_CAPTURES:
+			MoveGenerator.generateCaptures(bitboard, captures);
+			for (int i = 0; i < captures.size(); i++) {
+				final int move = captures.get(i);
+				if (order.isGoodCapture(move)) {
+					captures.setScore(i, order.scoreCapture(move));
+				} else {
+					final int exchange = StaticExchange.evaluate(bitboard, move, gain);
+					captures.setScore(i, (exchange >= 0) ? order.scoreCapture(move) : exchange - BAD_CAPTURE);
+				}
+			}
+			index = 0;
+			stage = GOOD_CAPTURES;
+			// fall through
+		case GOOD_CAPTURES:
+			while (index < captures.size()) {
+				final int move = captures.pick(index);
+				if (captures.getScore(index) < 0) {
+					break;
+				}
+				index++;
+				if (move != hashMove) {
+					return move;
+				}
+			}
+			badIndex = index;
+			if (capturesOnly) {
+				stage = DONE;
+				return Move.NONE;
+			}
+			index = 0;
+			stage = KILLERS;
+			// fall through
+		case KILLERS:
+			while (index < killers.length) {
+				final int move = killers[index++];
+				if (move != hashMove && MoveGenerator.isPseudoLegal(bitboard, move)) {
+					return move;
+				}
+			}
+			stage = GENERATE_QUIETS;
+			// fall through
+		case GENERATE_QUIETS:
+			MoveGenerator.generateQuiets(bitboard, quiets);
+			for (int i = 0; i < quiets.size(); i++) {
+				quiets.setScore(i, order.scoreQuiet(quiets.get(i)));
+			}
+			index = 0;
+			stage = QUIETS;
+			// fall through
+		case QUIETS:
+			while (index < quiets.size()) {
+				final int move = quiets.pick(index++);
+				if (move != hashMove && move != killers[0] && move != killers[1]) {
+					return move;
+				}
+			}
+			stage = BAD_CAPTURES;
+			// fall through
+		case BAD_CAPTURES:
+			while (badIndex < captures.size()) {
+				final int move = captures.pick(badIndex++);
+				if (move != hashMove) {
+					return move;
+				}
+			}
+			stage = DONE;
+			// fall through
+		default:
+			return Move.NONE;
+		}
+	}
+
+}
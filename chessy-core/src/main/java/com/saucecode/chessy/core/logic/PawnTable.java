@@ -0,0 +1,180 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * A fixed-size hash table, which caches the evaluation of pawn structures by the pawn key of a position (see
+ * {@link Bitboard#getPawnKey()}). The pawn structure rarely changes during a search, so most evaluations are answered
+ * by the table. Like the {@link TranspositionTable}, every entry occupies two {@code long} values, the key XORed with
+ * the score and the score itself, so the table can be shared by all search threads without any locks.<br>
+ * A pawn structure is evaluated for both colors by these terms:
+ * <ul>
+ * <li>doubled pawns: two pawns on the same file</li>
+ * <li>tripled pawns: three or more pawns on the same file</li>
+ * <li>isolated pawns: pawns without any pawn of the same color on the adjacent files</li>
+ * <li>passed pawns: pawns without any opposing pawn in front of them on the same or the adjacent files, rated higher
+ * the closer they are to promotion, up to {@link #PASSED_MAX} for all passed pawns of a color</li>
+ * </ul>
+ * The score is therefore bounded by {@link #MAX_SCORE} in magnitude, on which the lazy evaluation of
+ * {@link Evaluation} relies.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class PawnTable {
+
+	/**
+	 * Penalty of a file with two pawns of the same color.
+	 */
+	static final int DOUBLED = 15;
+
+	/**
+	 * Penalty of a file with three or more pawns of the same color.
+	 */
+	static final int TRIPLED = 40;
+
+	/**
+	 * Penalty of every isolated pawn.
+	 */
+	static final int ISOLATED = 15;
+
+	/**
+	 * Bonus of a passed pawn by its rank, as seen from its own color.
+	 */
+	static final int[] PASSED = { 0, 5, 10, 20, 35, 60, 100, 0 };
+
+	/**
+	 * Maximum bonus of all passed pawns of a color, that of two pawns on the seventh rank. Even more passed pawns
+	 * hardly raise the chances to promote one of them.
+	 */
+	static final int PASSED_MAX = 2 * PASSED[6];
+
+	/**
+	 * Maximum penalty of the pawns of a color: Each of at most eight pawns can be isolated, and at most four files
+	 * can hold more than one of them.
+	 */
+	static final int PENALTY_MAX = 8 * ISOLATED + 4 * Math.max(DOUBLED, TRIPLED);
+
+	/**
+	 * Bound of the magnitude of the score of a pawn structure, as one color gets at most the maximum bonus and the
+	 * other one at most the maximum penalty.
+	 */
+	public static final int MAX_SCORE = PASSED_MAX + PENALTY_MAX;
+
+	/**
+	 * Bit mask of every file.
+	 */
+	private static final long[] FILES = new long[8];
+
+	/**
+	 * Bit mask of the files adjacent to every file.
+	 */
+	private static final long[] ADJACENT_FILES = new long[8];
+
+	/**
+	 * For every color and square, the squares in front of a pawn on the same and the adjacent files.
+	 */
+	private static final long[][] FRONT_SPANS = new long[2][64];
+
+	static {
+		for (int file = 0; file < 8; file++) {
+			FILES[file] = 0x0101010101010101L << file;
+		}
+		for (int file = 0; file < 8; file++) {
+			ADJACENT_FILES[file] = ((file > 0) ? FILES[file - 1] : 0L) | ((file < 7) ? FILES[file + 1] : 0L);
+		}
+		for (int square = 0; square < 64; square++) {
+			final long files = FILES[square & 7] | ADJACENT_FILES[square & 7];
+			final int rank = square >>> 3;
+			FRONT_SPANS[Bitboard.WHITE][square] = (rank == 7) ? 0L : files & (-1L << ((rank + 1) * 8));
+			FRONT_SPANS[Bitboard.BLACK][square] = files & ((1L << (rank * 8)) - 1L);
+		}
+	}
+
+	/**
+	 * The entries, two values each.
+	 */
+	private final long[] table;
+
+	/**
+	 * Mask for mapping a key to an entry index.
+	 */
+	private final int mask;
+
+	/**
+	 * Creates a new, empty {@link PawnTable}.
+	 *
+	 * @param entries the number of entries, which is rounded down to a power of two
+	 * @throws IllegalArgumentException if {@code entries} is not positive
+	 */
+	public PawnTable(int entries) {
+		if (entries < 1) {
+			throw new IllegalArgumentException("entries must be positive");
+		}
+		final int size = Integer.highestOneBit(entries);
+		table = new long[size * 2];
+		mask = size - 1;
+	}
+
+	/**
+	 * Returns the evaluation of the pawn structure of a position, which is computed and stored, if the table has no
+	 * entry for it.
+	 *
+	 * @param bitboard the position
+	 * @return the score of white minus the score of black
+	 */
+	public int getScore(Bitboard bitboard) {
+		final long key = bitboard.getPawnKey();
+		final int index = ((int) key & mask) << 1;
+		final long data = table[index + 1];
+		if ((table[index] ^ data) == key) {
+			return (int) data;
+		}
+		final int score = computeScore(bitboard);
+		table[index] = key ^ score;
+		table[index + 1] = score;
+		return score;
+	}
+
+	/**
+	 * Evaluates the pawn structure of a position from scratch.
+	 *
+	 * @param bitboard the position
+	 * @return the score of white minus the score of black
+	 */
+	static int computeScore(Bitboard bitboard) {
+		return computeScore(bitboard, Bitboard.WHITE) - computeScore(bitboard, Bitboard.BLACK);
+	}
+
+	/**
+	 * Evaluates the pawns of a color.
+	 *
+	 * @param bitboard the position
+	 * @param color    the color
+	 * @return the score of the pawns
+	 */
+	private static int computeScore(Bitboard bitboard, int color) {
+		final long own = bitboard.getPieces(color, Bitboard.PAWN);
+		final long other = bitboard.getPieces(color ^ 1, Bitboard.PAWN);
+		int score = 0;
+		for (int file = 0; file < 8; file++) {
+			final int count = Long.bitCount(own & FILES[file]);
+			if (count == 2) {
+				score -= DOUBLED;
+			} else if (count > 2) {
+				score -= TRIPLED;
+			}
+			if (count > 0 && (own & ADJACENT_FILES[file]) == 0L) {
+				score -= ISOLATED * count;
+			}
+		}
+		int passed = 0;
+		long pawns = own;
+		while (pawns != 0L) {
+			final int square = Long.numberOfTrailingZeros(pawns);
+			if ((FRONT_SPANS[color][square] & other) == 0L) {
+				passed += PASSED[(color == Bitboard.WHITE) ? square >>> 3 : 7 - (square >>> 3)];
+			}
+			pawns &= pawns - 1;
+		}
+		return score + Math.min(passed, PASSED_MAX);
+	}
+
+}
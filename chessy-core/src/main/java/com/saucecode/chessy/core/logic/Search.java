@@ -0,0 +1,661 @@
+package com.saucecode.chessy.core.logic;
+
+import com.saucecode.chessy.core.SearchMode;
+import com.saucecode.chessy.core.figures.Pawn;
+
+/**
+ * Searches the game tree of a position. Every instance owns a private copy of a {@link Bitboard} and walks the tree
+ * on it by making and unmaking moves, so no boards are allocated during a search. An instance must only be used by a
+ * single thread, which may reuse it for many root moves by {@link #reset(Bitboard, SearchControl)}.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class Search {
+
+	/**
+	 * Score returned by {@link #searchMove(int, int, int, int)} for a move which leaves the own king in check.
+	 */
+	public static final int ILLEGAL = Integer.MIN_VALUE;
+
+	/**
+	 * A score greater than any score of a position.
+	 */
+	public static final int INFINITY = Board.CHECKMATE_SCORE + 1;
+
+	/**
+	 * Maximum distance of a node to the root. A checkmate is scored as {@link Board#CHECKMATE_SCORE} minus its
+	 * distance to the root, so the shortest one is preferred, and all scores of at least
+	 * {@code Board.CHECKMATE_SCORE - MAX_HEIGHT} in magnitude are checkmates.
+	 */
+	public static final int MAX_HEIGHT = 128;
+
+	/**
+	 * The {@link SearchControl} is polled whenever the number of nodes is a multiple of this power of two.
+	 */
+	private static final long POLL_INTERVAL = 2_048L;
+
+	/**
+	 * Maximum number of plies searched by {@link #quiesce(int, int, int)} beyond the nominal depth.
+	 */
+	static final int QUIESCENCE_DEPTH = 32;
+
+	/**
+	 * Number of plies by which the search after a null move is reduced.
+	 */
+	private static final int NULL_MOVE_REDUCTION = 2;
+
+	/**
+	 * Number of moves of a node, which are never reduced by late move reductions.
+	 */
+	private static final int LATE_MOVE = 3;
+
+	/**
+	 * Margin added to the static score of a frontier node, before quiet moves are pruned as unable to reach alpha.
+	 */
+	private static final int FUTILITY_MARGIN = 2 * Pawn.VALUE;
+
+	/**
+	 * The position, which is modified during the search.
+	 */
+	private final Bitboard bitboard;
+
+	/**
+	 * One move list per remaining ply.
+	 */
+	private final MoveList[] moveLists;
+
+	/**
+	 * The search algorithm.
+	 */
+	private final SearchMode mode;
+
+	/**
+	 * The transposition table shared with other searches, or {@code null}.
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 * One move picker per distance to the root, used by all search modes but {@link SearchMode#MINIMAX}.
+	 */
+	private final MovePicker[] pickers;
+
+	/**
+	 * One move picker per quiescence ply, created when needed.
+	 */
+	private final MovePicker[] quiescencePickers;
+
+	/**
+	 * Orders the moves of all search modes but {@link SearchMode#MINIMAX}.
+	 */
+	private final MoveOrder order;
+
+	/**
+	 * Tells when to stop.
+	 */
+	private SearchControl control;
+
+	/**
+	 * The maximum number of plies, which can be searched.
+	 */
+	private final int capacity;
+
+	/**
+	 * Maximum distance of a node to the root in the current search, which bounds the check extensions.
+	 */
+	private int maxHeight;
+
+	/**
+	 * The principal variation of every node on the current path, indexed by the distance to the root.
+	 */
+	private final int[][] lines;
+
+	/**
+	 * The lengths of {@link #lines}.
+	 */
+	private final int[] lengths;
+
+	/**
+	 * The distance of the current node to the root.
+	 */
+	private int height;
+
+	/**
+	 * Number of legal moves made so far.
+	 */
+	private long nodes;
+
+	/**
+	 * Whether the search has been stopped by the {@link SearchControl}.
+	 */
+	private boolean aborted;
+
+	/**
+	 * Creates a new {@link Search}.
+	 *
+	 * @param bitboard the position, which will be copied
+	 * @param ply      the maximum number of plies to be searched
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table, which is not used by {@link SearchMode#MINIMAX}, or {@code null}
+	 * @param control  tells when to stop
+	 * @throws IllegalArgumentException if the check extensions of {@code ply} could exceed {@link #MAX_HEIGHT}
+	 */
+	public Search(Bitboard bitboard, int ply, SearchMode mode, TranspositionTable table, SearchControl control) {
+		if (2 * ply > MAX_HEIGHT) {
+			throw new IllegalArgumentException("ply must not exceed " + MAX_HEIGHT / 2);
+		}
+		this.bitboard = new Bitboard(bitboard);
+		this.mode = mode;
+		this.table = table;
+		this.control = control;
+		capacity = ply;
+		order = new MoveOrder(ply);
+		moveLists = new MoveList[ply + 1];
+		for (int i = 0; i <= ply; i++) {
+			moveLists[i] = new MoveList();
+		}
+		maxHeight = 2 * ply;
+		pickers = new MovePicker[2 * ply + 1];
+		for (int i = 0; i <= 2 * ply; i++) {
+			pickers[i] = new MovePicker(this.bitboard, order);
+		}
+		quiescencePickers = new MovePicker[QUIESCENCE_DEPTH + 1];
+		lines = new int[2 * ply + 1][2 * ply + 1];
+		lengths = new int[2 * ply + 1];
+		height = 0;
+		nodes = 0L;
+		aborted = false;
+	}
+
+	/**
+	 * Returns whether this instance can search a position with the given parameters after
+	 * {@link #reset(Bitboard, SearchControl)}.
+	 *
+	 * @param ply   the maximum number of plies to be searched
+	 * @param mode  the search algorithm
+	 * @param table the transposition table, or {@code null}
+	 * @return {@code true}, if the parameters fit
+	 */
+	public boolean fits(int ply, SearchMode mode, TranspositionTable table) {
+		return ply <= capacity && this.mode == mode && this.table == table;
+	}
+
+	/**
+	 * Prepares the search of another position, which replaces the private copy of the previous one. The node count is
+	 * cleared, while the killer moves and the history scores are kept, as they still help to order the moves of a
+	 * related position.
+	 *
+	 * @param bitboard the position, which will be copied
+	 * @param control  tells when to stop
+	 */
+	public void reset(Bitboard bitboard, SearchControl control) {
+		this.bitboard.set(bitboard);
+		this.control = control;
+		height = 0;
+		nodes = 0L;
+		aborted = false;
+	}
+
+	/**
+	 * Forgets the killer moves and the history scores, so the next search does not depend on the previous ones.
+	 */
+	public void clearOrder() {
+		order.clear();
+	}
+
+	/**
+	 * Returns a copy of the killer moves and the history scores collected so far.
+	 *
+	 * @return the copy
+	 */
+	public MoveOrder copyOrder() {
+		final MoveOrder copy = new MoveOrder(capacity);
+		copy.set(order);
+		return copy;
+	}
+
+	/**
+	 * Replaces the killer moves and the history scores by those of a copy, see {@link #copyOrder()}.
+	 *
+	 * @param order the copy
+	 */
+	public void setOrder(MoveOrder order) {
+		this.order.set(order);
+	}
+
+	/**
+	 * Returns the number of legal moves made so far.
+	 *
+	 * @return number of legal moves
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the principal variation found by the last call of {@link #searchMove(int, int, int, int)}, which is only
+	 * complete if the score of the move was exact.
+	 *
+	 * @return the moves expected to be played, starting with the searched move
+	 */
+	public int[] getPrincipalVariation() {
+		final int[] line = new int[lengths[0]];
+		System.arraycopy(lines[0], 0, line, 0, lengths[0]);
+		return line;
+	}
+
+	/**
+	 * Makes a move and steps one ply away from the root.
+	 *
+	 * @param move the move
+	 * @return the undo record
+	 */
+	private long makeMove(int move) {
+		height++;
+		return bitboard.makeMove(move);
+	}
+
+	/**
+	 * Takes back a move and steps one ply back to the root.
+	 *
+	 * @param move the move
+	 * @param undo the undo record returned by {@link #makeMove(int)}
+	 */
+	private void unmakeMove(int move, long undo) {
+		bitboard.unmakeMove(move, undo);
+		height--;
+	}
+
+	/**
+	 * Stores the move which has just been made, followed by the principal variation of the resulting node, as the
+	 * principal variation of the node before the move.
+	 *
+	 * @param move the move
+	 */
+	private void updateLine(int move) {
+		lines[height - 1][0] = move;
+		System.arraycopy(lines[height], 0, lines[height - 1], 1, lengths[height]);
+		lengths[height - 1] = lengths[height] + 1;
+	}
+
+	/**
+	 * Returns whether the search has been stopped by its {@link SearchControl}. Once stopped, every score returned by
+	 * {@link #searchMove(int, int, int, int)} is meaningless and must be discarded.
+	 *
+	 * @return {@code true}, if the search has been stopped
+	 */
+	public boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * Polls the {@link SearchControl} every {@link #POLL_INTERVAL} nodes.
+	 *
+	 * @return {@code true}, if the search has been stopped
+	 */
+	private boolean poll() {
+		if (!aborted && (nodes & (POLL_INTERVAL - 1)) == 0L && control.isStopped()) {
+			aborted = true;
+		}
+		return aborted;
+	}
+
+	/**
+	 * Searches a single move of the color to move. Using a pruning search mode, the score is only exact if it lies
+	 * between {@code alpha} and {@code beta}. Otherwise it is a bound, which is not better than the exact score.
+	 *
+	 * @param move  pseudo-legal move
+	 * @param ply   number of plies to be searched, including the move itself, at most the maximum number of plies given
+	 *              to the constructor
+	 * @param alpha the score the color to move has already secured
+	 * @param beta  the score the opponent has already secured, negated
+	 * @return
+	 *         <ul>
+	 *         <li>the score of the move for the color to move</li>
+	 *         <li>{@link #ILLEGAL}, if the move leaves the own king in check</li>
+	 *         <li>a meaningless score, if the search has been stopped (see {@link #isAborted()})</li>
+	 *         </ul>
+	 */
+	public int searchMove(int move, int ply, int alpha, int beta) {
+		if (control.isStopped()) {
+			aborted = true;
+			return ILLEGAL;
+		}
+		final int color = bitboard.getSideToMove();
+		maxHeight = 2 * ply;
+		lengths[0] = 0;
+		final long undo = makeMove(move);
+		int score = ILLEGAL;
+		if (!bitboard.isInCheck(color)) {
+			nodes++;
+			if (mode == SearchMode.MINIMAX) {
+				score = -minimax(ply - 1);
+			} else {
+				score = -alphaBeta(ply - 1, -beta, -alpha, true);
+			}
+			updateLine(move);
+		}
+		unmakeMove(move, undo);
+		return score;
+	}
+
+	/**
+	 * Searches the full tree up to a given depth. Every color maximizes its own score. The leaves are evaluated by
+	 * {@link #quiesce(int, int, int)} with a full window, so the scores equal those of alpha-beta.
+	 *
+	 * @param ply number of remaining plies
+	 * @return the score for the color to move
+	 */
+	private int minimax(int ply) {
+		lengths[height] = 0;
+		if (poll()) {
+			return 0;
+		}
+		if (ply == 0) {
+			return quiesce(0, -INFINITY, INFINITY);
+		}
+		final MoveList moves = moveLists[ply];
+		MoveGenerator.generate(bitboard, moves);
+		final int color = bitboard.getSideToMove();
+		int max = ILLEGAL;
+		for (int i = 0; i < moves.size() && !aborted; i++) {
+			final int move = moves.get(i);
+			final long undo = makeMove(move);
+			if (!bitboard.isInCheck(color)) {
+				nodes++;
+				final int score = -minimax(ply - 1);
+				if (score > max) {
+					max = score;
+					updateLine(move);
+				}
+			}
+			unmakeMove(move, undo);
+		}
+		if (aborted) {
+			return 0;
+		}
+		return (max == ILLEGAL) ? getTerminalScore() : max;
+	}
+
+	/**
+	 * Searches the tree up to a given depth, skipping all moves once a move has been found which is too good to be
+	 * allowed by the opponent. The score is exact if it lies between {@code alpha} and {@code beta}. Results are
+	 * stored in the transposition table. Moves are searched in the order given by {@link MovePicker}, so most cutoffs
+	 * happen before all moves have been generated.
+	 * <p>
+	 * Using {@link SearchMode#SELECTIVE}, the search additionally uses
+	 * <ul>
+	 * <li>null-move pruning: If passing the turn still fails high in a search of reduced depth and a verification
+	 * search of the position itself at that depth confirms it, the node is cut off.</li>
+	 * <li>late move reductions: Quiet moves, which are ordered late, are searched with a reduced depth and a null
+	 * window first, and only searched again at full depth if they turn out to be better than alpha.</li>
+	 * <li>check extensions: A node, whose color to move is in check, is searched one ply deeper, so forced sequences
+	 * of checks are followed beyond the nominal depth. The extensions are bounded by twice the maximum number of
+	 * plies.</li>
+	 * <li>futility pruning: At frontier nodes, which are one ply above the quiescence search, quiet moves are skipped
+	 * if the static score plus {@link #FUTILITY_MARGIN} does not reach alpha, unless they give check.</li>
+	 * </ul>
+	 * The pruning is disabled when the color to move is in check. Null-move pruning and late move reductions are also
+	 * disabled when the color to move has only pawns left, because zugzwang is likely then.
+	 * {@link SearchMode#PRINCIPAL_VARIATION} prunes the same way, but additionally searches all moves after the first
+	 * one with a null window, expecting them to fail low.
+	 * <p>
+	 * The principal variation is updated whenever a move raises alpha.
+	 *
+	 * @param ply      number of remaining plies
+	 * @param alpha    the score the color to move has already secured
+	 * @param beta     the score the opponent has already secured, negated
+	 * @param nullMove whether a null move may be tried, which is not the case directly after another one
+	 * @return the score for the color to move
+	 */
+	private int alphaBeta(int ply, int alpha, int beta, boolean nullMove) {
+		lengths[height] = 0;
+		if (poll()) {
+			return 0;
+		}
+		final int color = bitboard.getSideToMove();
+		final boolean check = bitboard.isInCheck(color);
+		final boolean principal = mode == SearchMode.PRINCIPAL_VARIATION;
+		final boolean selective = principal || mode == SearchMode.SELECTIVE;
+		if (selective && check && height + ply < maxHeight) {
+			ply++;
+		}
+		if (ply <= 0) {
+			return quiesce(0, alpha, beta);
+		}
+		final long key = bitboard.getKey();
+		int hashMove = Move.NONE;
+		if (table != null) {
+			final long entry = table.probe(key);
+			if (entry != TranspositionTable.MISS) {
+				hashMove = TranspositionTable.getMove(entry);
+				if (TranspositionTable.getDepth(entry) >= ply) {
+					final int score = fromTable(TranspositionTable.getScore(entry));
+					final int bound = TranspositionTable.getBound(entry);
+					if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta)
+							|| (bound == TranspositionTable.UPPER && score <= alpha)) {
+						return score;
+					}
+				}
+			}
+		}
+		final boolean pruning = selective && !check;
+		final boolean reducing = pruning && bitboard.hasPieces(color);
+		if (reducing && nullMove && ply > NULL_MOVE_REDUCTION && !isMate(beta)
+				&& Evaluation.evaluate(bitboard, beta - 1, beta) >= beta) {
+			height++;
+			final int undo = bitboard.makeNullMove();
+			final int score = -alphaBeta(ply - 1 - NULL_MOVE_REDUCTION, -beta, -beta + 1, false);
+			bitboard.unmakeNullMove(undo);
+			height--;
+			if (aborted) {
+				return 0;
+			}
+			if (score >= beta && alphaBeta(ply - 1 - NULL_MOVE_REDUCTION, beta - 1, beta, false) >= beta) {
+				return score;
+			}
+		}
+		final boolean frontier = pruning && ply == 1 && !isMate(alpha);
+		final int futility = frontier
+				? Evaluation.evaluate(bitboard, alpha - FUTILITY_MARGIN, alpha - FUTILITY_MARGIN + 1) + FUTILITY_MARGIN
+				: 0;
+		final boolean futile = frontier && futility <= alpha;
+		final MovePicker picker = pickers[height];
+		picker.init(hashMove, ply);
+		final int alphaStart = alpha;
+		int max = ILLEGAL;
+		int best = Move.NONE;
+		int count = 0;
+		for (int move = picker.next(); move != Move.NONE && alpha < beta && !aborted; move = picker.next()) {
+			final long undo = makeMove(move);
+			if (!bitboard.isInCheck(color)) {
+				nodes++;
+				count++;
+				final int reduction = reducing ? getReduction(move, ply, count) : 0;
+				int score;
+				if (futile && count > 1 && isQuiet(move)) {
+					score = futility;
+				} else if (count > 1 && (principal || reduction > 0)) {
+					// null window probe, which is searched again if it does not fail low as expected
+					score = -alphaBeta(ply - 1 - reduction, -alpha - 1, -alpha, true);
+					if (score > alpha && (reduction > 0 || score < beta)) {
+						score = -alphaBeta(ply - 1, -beta, -alpha, true);
+					}
+				} else {
+					score = -alphaBeta(ply - 1, -beta, -alpha, true);
+				}
+				if (score > max) {
+					max = score;
+					best = move;
+					if (score > alpha) {
+						alpha = score;
+						updateLine(move);
+					}
+				}
+			}
+			unmakeMove(move, undo);
+		}
+		if (aborted) {
+			return 0;
+		}
+		if (max >= beta) {
+			order.update(best, ply);
+		}
+		if (max == ILLEGAL) {
+			max = getTerminalScore();
+		}
+		if (table != null) {
+			final int bound = (max <= alphaStart) ? TranspositionTable.UPPER
+					: (max >= beta) ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+			table.store(key, ply, bound, toTable(max), best);
+		}
+		return max;
+	}
+
+	/**
+	 * Returns whether a move, which has already been made, is quiet: neither a capture nor a promotion nor a check.
+	 *
+	 * @param move the move
+	 * @return {@code true}, if the move is quiet
+	 */
+	private boolean isQuiet(int move) {
+		return !Move.isCapture(move) && Move.flag(move) != Move.PROMOTION
+				&& !bitboard.isInCheck(bitboard.getSideToMove());
+	}
+
+	/**
+	 * Returns by how many plies a move is reduced by late move reductions. The move has already been made.
+	 *
+	 * @param move  the move
+	 * @param ply   number of remaining plies, including the move
+	 * @param count number of legal moves searched at the node, including the move
+	 * @return the reduction, {@code 0} if the move is searched at full depth
+	 */
+	private int getReduction(int move, int ply, int count) {
+		if (ply < 3 || count <= LATE_MOVE || !isQuiet(move)) {
+			return 0;
+		}
+		return (ply >= 5 && count > 3 * LATE_MOVE) ? 2 : 1;
+	}
+
+	/**
+	 * Searches the captures and promotions beyond the nominal depth, until the position is quiet. Each color may
+	 * instead stand pat, which means it accepts the static score of the position, so only captures which improve the
+	 * score are followed. At the nominal depth, a color in check may not stand pat and searches all of its moves
+	 * instead, so checkmate is recognized there. Stalemate is only probed at the nominal depth if the color to move
+	 * has nothing but pawns and its king left, as it hardly ever happens with other pieces on the board. The score is
+	 * only exact if it lies between {@code alpha} and {@code beta}.
+	 *
+	 * @param depth number of plies searched beyond the nominal depth
+	 * @param alpha the score the color to move has already secured
+	 * @param beta  the score the opponent has already secured, negated
+	 * @return the score for the color to move
+	 */
+	private int quiesce(int depth, int alpha, int beta) {
+		if (poll()) {
+			return 0;
+		}
+		final int color = bitboard.getSideToMove();
+		final boolean check = depth == 0 && bitboard.isInCheck(color);
+		int max = ILLEGAL;
+		if (!check) {
+			if (depth == 0 && !bitboard.hasPieces(color) && !MoveGenerator.hasLegalMove(bitboard, moveLists[0])) {
+				return 0;
+			}
+			max = Evaluation.evaluate(bitboard, alpha, beta);
+			if (depth == QUIESCENCE_DEPTH || max >= beta) {
+				return max;
+			}
+			if (max > alpha) {
+				alpha = max;
+			}
+		}
+		if (quiescencePickers[depth] == null) {
+			quiescencePickers[depth] = new MovePicker(bitboard, order);
+		}
+		final MovePicker picker = quiescencePickers[depth];
+		if (check) {
+			picker.init(Move.NONE, 0);
+		} else {
+			picker.initCaptures();
+		}
+		int move = picker.next();
+		while (move != Move.NONE && alpha < beta && !aborted) {
+			final long undo = bitboard.makeMove(move);
+			if (!bitboard.isInCheck(color)) {
+				nodes++;
+				final int score = -quiesce(depth + 1, -beta, -alpha);
+				if (score > max) {
+					max = score;
+					if (score > alpha) {
+						alpha = score;
+					}
+				}
+			}
+			bitboard.unmakeMove(move, undo);
+			move = picker.next();
+		}
+		if (aborted) {
+			return 0;
+		}
+		return (max == ILLEGAL) ? -Board.CHECKMATE_SCORE + height : max;
+	}
+
+	/**
+	 * Returns the score of a position without legal moves.
+	 *
+	 * @return
+	 *         <ul>
+	 *         <li>{@code -}{@link Board#CHECKMATE_SCORE} plus the distance to the root, if the color to move is
+	 *         checkmated</li>
+	 *         <li>{@code 0}, if the color to move is stalemated</li>
+	 *         </ul>
+	 */
+	private int getTerminalScore() {
+		return bitboard.isInCheck(bitboard.getSideToMove()) ? -Board.CHECKMATE_SCORE + height : 0;
+	}
+
+	/**
+	 * Returns whether a score is a checkmate, which is scored by its distance to the root.
+	 *
+	 * @param score the score
+	 * @return {@code true}, if the score is a checkmate of either color
+	 */
+	public static boolean isMate(int score) {
+		return Math.abs(score) >= Board.CHECKMATE_SCORE - MAX_HEIGHT;
+	}
+
+	/**
+	 * Converts a score relative to the root into a score for the transposition table. Checkmates are stored relative
+	 * to the current node, as the same position may be reached at another distance to the root.
+	 *
+	 * @param score the score relative to the root
+	 * @return the score relative to the current node
+	 */
+	private int toTable(int score) {
+		if (score >= Board.CHECKMATE_SCORE - MAX_HEIGHT) {
+			return score + height;
+		}
+		if (score <= -Board.CHECKMATE_SCORE + MAX_HEIGHT) {
+			return score - height;
+		}
+		return score;
+	}
+
+	/**
+	 * Converts a score of the transposition table into a score relative to the root, reversing
+	 * {@link #toTable(int)}.
+	 *
+	 * @param score the score relative to the current node
+	 * @return the score relative to the root
+	 */
+	private int fromTable(int score) {
+		if (score >= Board.CHECKMATE_SCORE - MAX_HEIGHT) {
+			return score - height;
+		}
+		if (score <= -Board.CHECKMATE_SCORE + MAX_HEIGHT) {
+			return score + height;
+		}
+		return score;
+	}
+
+}
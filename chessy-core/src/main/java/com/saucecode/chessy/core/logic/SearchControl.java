@@ -0,0 +1,85 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * Tells all threads of an A.I. operation when to stop. A search stops once it has been cancelled or its deadline has
+ * passed. Every {@link Search} polls this object every few thousand nodes, so stopping takes only milliseconds.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class SearchControl {
+
+	/**
+	 * Point in time in milliseconds, at which the search shall stop, or {@code 0} for no limit.
+	 */
+	private final long deadline;
+
+	/**
+	 * The control of the enclosing search, or {@code null}.
+	 */
+	private final SearchControl parent;
+
+	/**
+	 * Whether the search has been cancelled.
+	 */
+	private volatile boolean cancelled;
+
+	/**
+	 * Creates a new {@link SearchControl}.
+	 *
+	 * @param deadline point in time in milliseconds as given by {@link System#currentTimeMillis()}, at which the
+	 *                 search shall stop, or {@code 0} for no limit
+	 */
+	public SearchControl(long deadline) {
+		this.deadline = deadline;
+		parent = null;
+		cancelled = false;
+	}
+
+	/**
+	 * Creates a new {@link SearchControl}, which also stops once the control of an enclosing search stops. Cancelling
+	 * it does not affect the enclosing search.
+	 *
+	 * @param parent the control of the enclosing search
+	 */
+	public SearchControl(SearchControl parent) {
+		this.deadline = parent.deadline;
+		this.parent = parent;
+		cancelled = false;
+	}
+
+	/**
+	 * Returns the deadline.
+	 *
+	 * @return point in time in milliseconds, or {@code 0} for no limit
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Cancels the search. The result of a cancelled search shall be discarded.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Returns whether the search has been cancelled.
+	 *
+	 * @return {@code true}, if this search or an enclosing search has been cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled || (parent != null && parent.isCancelled());
+	}
+
+	/**
+	 * Returns whether the search shall stop.
+	 *
+	 * @return {@code true}, if the search has been cancelled or its deadline has passed
+	 */
+	public boolean isStopped() {
+		return cancelled || (deadline != 0L && System.currentTimeMillis() >= deadline)
+				|| (parent != null && parent.isStopped());
+	}
+
+}
@@ -0,0 +1,613 @@
+package com.saucecode.chessy.core.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import com.saucecode.chessy.core.GameI;
+import com.saucecode.chessy.core.ParallelMode;
+import com.saucecode.chessy.core.SearchMode;
+
+/**
+ * Searches the root moves of a position in parallel, as selected by a {@link ParallelMode}:
+ * <ul>
+ * <li>{@link ParallelMode#ROOT_SPLIT}: The root moves are split recursively into halves, which are distributed over
+ * the threads of a {@link ForkJoinPool} by work stealing, so idle threads take over the remaining moves of busy ones.
+ * The first move is searched before the others, and its score serves as alpha of all of them, so no window depends on
+ * the order in which the threads finish. The result equals that of {@link ParallelMode#SINGLE_THREADED}, which
+ * searches the moves the same way.</li>
+ * <li>{@link ParallelMode#LAZY_SMP}: The calling thread searches all root moves, while helper threads run their own
+ * iterative deepening of the same position during the whole search (see {@link #startHelpers(Bitboard, int,
+ * SearchMode, TranspositionTable, SearchControl, AtomicInteger)}), every other helper one ply deeper and each starting
+ * with a different move. The helpers only fill the shared transposition table, from which the calling thread
+ * profits.</li>
+ * </ul>
+ * An instance can be reused for many searches. Every thread keeps a single {@link Search}, which is reset for every
+ * root move, so neither positions nor move lists are allocated per move. Every root move but the first one starts with
+ * the killer moves and history scores collected by the first one, no matter which thread searches it.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class SearchExecutor {
+
+	/**
+	 * Static {@link Logger} instance for the class {@link SearchExecutor}.
+	 */
+	final static Logger logger = Logger.getLogger(SearchExecutor.class);
+
+	/**
+	 * Minimum number of plies every {@link Search} is created for, so neither the iterations of iterative deepening
+	 * nor the deeper helpers of {@link ParallelMode#LAZY_SMP} need to create another one.
+	 */
+	private static final int MIN_PLY = GameI.PLY_MAX + 1;
+
+	/**
+	 * The thread pool.
+	 */
+	private final ForkJoinPool pool;
+
+	/**
+	 * The {@link Search} of every thread, which has taken part in a search.
+	 */
+	private final ThreadLocal<Search> searches = new ThreadLocal<>();
+
+	/**
+	 * Creates a new {@link SearchExecutor}.
+	 *
+	 * @param threads the number of threads
+	 * @throws IllegalArgumentException if {@code threads} is not positive
+	 */
+	public SearchExecutor(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads must be positive");
+		}
+		pool = new ForkJoinPool(threads);
+	}
+
+	/**
+	 * Returns the number of threads.
+	 *
+	 * @return number of threads
+	 */
+	public int getThreads() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Stops all threads once they are idle. Afterwards no more searches can be run.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Returns the {@link Search} of the calling thread, reset to a position. A new one is only created if the thread
+	 * has none yet or if it does not fit the parameters.
+	 *
+	 * @param bitboard the position
+	 * @param ply      number of plies to be searched
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table, or {@code null}
+	 * @param control  tells when to stop
+	 * @return the search
+	 */
+	private Search getSearch(Bitboard bitboard, int ply, SearchMode mode, TranspositionTable table,
+			SearchControl control) {
+		Search search = searches.get();
+		if (search == null || !search.fits(ply, mode, table)) {
+			search = new Search(bitboard, Math.max(ply, MIN_PLY), mode, table, control);
+			searches.set(search);
+		} else {
+			search.reset(bitboard, control);
+		}
+		return search;
+	}
+
+	/**
+	 * Searches all root moves to a given depth with a full window and waits for the result.
+	 *
+	 * @param bitboard the position
+	 * @param moves    the pseudo-legal root moves
+	 * @param ply      number of plies to be searched
+	 * @param mode     the search algorithm
+	 * @param parallel how to distribute the search over the threads
+	 * @param table    the transposition table, or {@code null}
+	 * @param control  tells when to stop
+	 * @param count    counter of searched moves
+	 * @param listener invoked after every root move
+	 * @return the result, see {@link #search(Bitboard, MoveList, int, int, int, SearchMode, ParallelMode,
+	 *         TranspositionTable, SearchControl, AtomicInteger, Runnable)}
+	 */
+	public SearchResult search(Bitboard bitboard, MoveList moves, int ply, SearchMode mode, ParallelMode parallel,
+			TranspositionTable table, SearchControl control, AtomicInteger count, Runnable listener) {
+		return search(bitboard, moves, ply, -Search.INFINITY, Search.INFINITY, mode, parallel, table, control, count,
+				listener);
+	}
+
+	/**
+	 * Searches all root moves to a given depth and waits for the result. If the search is stopped, the best of all
+	 * completely searched moves is returned, but only if the first move is among them. When searched by iterative
+	 * deepening, the first move is the best move of the previous iteration, so the result is at least as good.
+	 * <p>
+	 * Only scores within the window from {@code alpha} to {@code beta} are exact. If a move scores at least
+	 * {@code beta}, the search is cut off and that move is returned with its score. If no move scores more than
+	 * {@code alpha}, no move is returned.
+	 * <p>
+	 * Using {@link ParallelMode#LAZY_SMP}, only the calling thread searches the root moves, while the helper threads
+	 * are started for the whole search by {@link #startHelpers(Bitboard, int, SearchMode, TranspositionTable,
+	 * SearchControl, AtomicInteger)}.
+	 *
+	 * @param bitboard the position
+	 * @param moves    the pseudo-legal root moves
+	 * @param ply      number of plies to be searched
+	 * @param alpha    lower bound of the window
+	 * @param beta     upper bound of the window
+	 * @param mode     the search algorithm
+	 * @param parallel how to distribute the search over the threads
+	 * @param table    the transposition table, or {@code null}
+	 * @param control  tells when to stop
+	 * @param count    counter of searched moves
+	 * @param listener invoked after every root move
+	 * @return the result, whose move is {@link Move#NONE} if there is no usable result
+	 */
+	public SearchResult search(Bitboard bitboard, MoveList moves, int ply, int alpha, int beta, SearchMode mode,
+			ParallelMode parallel, TranspositionTable table, SearchControl control, AtomicInteger count,
+			Runnable listener) {
+		final RootSearch root = new RootSearch(bitboard, moves, ply, alpha, beta, mode, table, control, count,
+				listener);
+		switch (parallel) {
+		case SINGLE_THREADED:
+		case LAZY_SMP:
+			// the helpers of LAZY_SMP run during the whole iterative deepening, not only during a single depth
+			root.searchMoves();
+			break;
+		case ROOT_SPLIT:
+			root.splitMoves();
+			break;
+		default:
+			throw new IllegalArgumentException("no such parallel mode");
+		}
+		return root.getResult();
+	}
+
+	/**
+	 * Starts the helper threads of {@link ParallelMode#LAZY_SMP}, one less than the number of threads, as the calling
+	 * thread searches the root moves itself. Every helper runs its own iterative deepening of the position up to a
+	 * given depth, every other helper one ply deeper, and searches the root moves starting with a different one. The
+	 * helpers run until they have finished or the search is stopped, so they must be stopped by {@link Helpers#stop()}
+	 * once the whole search ends.
+	 *
+	 * @param bitboard the position, which must not be modified until the helpers have been stopped
+	 * @param ply      number of plies to be searched
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table shared with the calling thread
+	 * @param control  tells when to stop
+	 * @param count    counter of searched moves
+	 * @return the running helpers
+	 */
+	public Helpers startHelpers(Bitboard bitboard, int ply, SearchMode mode, TranspositionTable table,
+			SearchControl control, AtomicInteger count) {
+		final SearchControl helperControl = new SearchControl(control);
+		final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (int i = 1; i < getThreads(); i++) {
+			final int helper = i;
+			tasks.add(pool.submit(() -> deepenHelper(bitboard, ply + (helper & 1), helper, mode, table, helperControl,
+					count)));
+		}
+		return new Helpers(tasks, helperControl);
+	}
+
+	/**
+	 * Searches a position by iterative deepening within a helper thread of {@link ParallelMode#LAZY_SMP}, discarding
+	 * the results.
+	 *
+	 * @param bitboard the position
+	 * @param ply      number of plies to be searched by the last iteration
+	 * @param helper   number of the helper, which perturbs the depths and the move order
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table
+	 * @param control  tells when to stop
+	 * @param count    counter of searched moves
+	 */
+	private void deepenHelper(Bitboard bitboard, int ply, int helper, SearchMode mode, TranspositionTable table,
+			SearchControl control, AtomicInteger count) {
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		if (moves.size() == 0) {
+			return;
+		}
+		for (int depth = 1 + (helper & 1); depth <= ply && !control.isStopped(); depth++) {
+			searchHelper(bitboard, moves, depth, helper, mode, table, control, count);
+		}
+	}
+
+	/**
+	 * Searches all root moves within a helper thread of {@link ParallelMode#LAZY_SMP}, discarding the results.
+	 *
+	 * @param bitboard the position
+	 * @param moves    the root moves
+	 * @param ply      number of plies to be searched
+	 * @param offset   index of the first move to be searched
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table
+	 * @param control  tells when to stop
+	 * @param count    counter of searched moves
+	 */
+	private void searchHelper(Bitboard bitboard, MoveList moves, int ply, int offset, SearchMode mode,
+			TranspositionTable table, SearchControl control, AtomicInteger count) {
+		final Search search = getSearch(bitboard, ply, mode, table, control);
+		int alpha = -Search.INFINITY;
+		for (int i = 0; i < moves.size() && !search.isAborted(); i++) {
+			final int score = search.searchMove(moves.get((i + offset) % moves.size()), ply, alpha,
+					Search.INFINITY);
+			if (!search.isAborted()) {
+				alpha = Math.max(alpha, score);
+			}
+		}
+		count.addAndGet((int) search.getNodes());
+	}
+
+	/**
+	 * The helper threads of {@link ParallelMode#LAZY_SMP} started for a whole search.
+	 *
+	 * @author Torben Kr&uuml;ger
+	 */
+	public static final class Helpers {
+
+		/**
+		 * The tasks of the helpers.
+		 */
+		private final List<ForkJoinTask<?>> tasks;
+
+		/**
+		 * Stops the helpers, but not the search of the calling thread.
+		 */
+		private final SearchControl control;
+
+		/**
+		 * Creates a new {@link Helpers}.
+		 *
+		 * @param tasks   the tasks of the helpers
+		 * @param control stops the helpers
+		 */
+		private Helpers(List<ForkJoinTask<?>> tasks, SearchControl control) {
+			this.tasks = tasks;
+			this.control = control;
+		}
+
+		/**
+		 * Stops all helpers and waits until they have finished.
+		 */
+		public void stop() {
+			control.cancel();
+			for (final ForkJoinTask<?> task : tasks) {
+				task.join();
+			}
+		}
+
+	}
+
+	/**
+	 * The state of a single root search, shared by all of its tasks.
+	 *
+	 * @author Torben Kr&uuml;ger
+	 */
+	private class RootSearch {
+
+		/**
+		 * The position.
+		 */
+		private final Bitboard bitboard;
+
+		/**
+		 * The root moves.
+		 */
+		private final MoveList moves;
+
+		/**
+		 * Number of plies to be searched.
+		 */
+		private final int ply;
+
+		/**
+		 * Lower bound of the window.
+		 */
+		private final int alpha;
+
+		/**
+		 * Upper bound of the window.
+		 */
+		private final int beta;
+
+		/**
+		 * The search algorithm.
+		 */
+		private final SearchMode mode;
+
+		/**
+		 * The transposition table, or {@code null}.
+		 */
+		private final TranspositionTable table;
+
+		/**
+		 * Tells when to stop.
+		 */
+		private final SearchControl control;
+
+		/**
+		 * Counter of searched moves.
+		 */
+		private final AtomicInteger count;
+
+		/**
+		 * Invoked after every root move.
+		 */
+		private final Runnable listener;
+
+		/**
+		 * Per root move: the score, which is {@link Search#ILLEGAL} for illegal and not searched moves.
+		 */
+		private final int[] scores;
+
+		/**
+		 * Per root move: the number of nodes searched.
+		 */
+		private final long[] nodes;
+
+		/**
+		 * Per root move: {@code true}, if the move has been searched completely and its score is exact.
+		 */
+		private final boolean[] exact;
+
+		/**
+		 * Per root move: {@code true}, if the move has been searched completely.
+		 */
+		private final boolean[] done;
+
+		/**
+		 * Per root move: {@code true}, if the move has been searched completely and scores at least {@link #beta}.
+		 */
+		private final boolean[] high;
+
+		/**
+		 * Per root move: the principal variation, if the move has been searched completely.
+		 */
+		private final int[][] lines;
+
+		/**
+		 * Index of the first move, which scores at least {@link #beta}, so the moves after it need not be searched.
+		 */
+		private volatile int cutoff;
+
+		/**
+		 * Lower bound of the window of all moves after the first one, which is raised to the score of the first one.
+		 */
+		private int floor;
+
+		/**
+		 * The killer moves and history scores collected by the first move, with which all other moves start.
+		 */
+		private MoveOrder order;
+
+		/**
+		 * Creates a new {@link RootSearch}.
+		 *
+		 * @param bitboard the position
+		 * @param moves    the root moves
+		 * @param ply      number of plies to be searched
+		 * @param alpha    lower bound of the window
+		 * @param beta     upper bound of the window
+		 * @param mode     the search algorithm
+		 * @param table    the transposition table, or {@code null}
+		 * @param control  tells when to stop
+		 * @param count    counter of searched moves
+		 * @param listener invoked after every root move
+		 */
+		private RootSearch(Bitboard bitboard, MoveList moves, int ply, int alpha, int beta, SearchMode mode,
+				TranspositionTable table, SearchControl control, AtomicInteger count, Runnable listener) {
+			this.bitboard = bitboard;
+			this.moves = moves;
+			this.ply = ply;
+			this.alpha = alpha;
+			this.beta = beta;
+			this.mode = mode;
+			this.table = table;
+			this.control = control;
+			this.count = count;
+			this.listener = listener;
+			scores = new int[moves.size()];
+			nodes = new long[moves.size()];
+			exact = new boolean[moves.size()];
+			done = new boolean[moves.size()];
+			high = new boolean[moves.size()];
+			lines = new int[moves.size()][];
+			cutoff = moves.size();
+			floor = alpha;
+		}
+
+		/**
+		 * Searches the root moves within the calling thread with the window of the root search, until the first legal
+		 * one has been searched completely. If its score is exact, it becomes the alpha of all remaining moves. The
+		 * remaining moves start with the killer moves and history scores collected by it, so the search of none of them
+		 * depends on the moves another thread has searched before.
+		 *
+		 * @return index of the first remaining move
+		 */
+		private int searchFirst() {
+			int index = 0;
+			while (index < moves.size() && !control.isStopped()) {
+				final Search search = getSearch(bitboard, ply, mode, table, control);
+				if (index == 0) {
+					search.clearOrder();
+				}
+				final int score = searchMove(search, index++, alpha);
+				if (search.isAborted() || score != Search.ILLEGAL) {
+					if (exact[index - 1]) {
+						floor = score;
+					}
+					order = search.copyOrder();
+					break;
+				}
+			}
+			return index;
+		}
+
+		/**
+		 * Searches a root move after the first one. Its window is that of the root search, whose alpha is raised to
+		 * {@link #floor}, so it does not depend on the other moves searched in parallel. It is skipped if a move with a
+		 * lower index scores at least {@link #beta}.
+		 *
+		 * @param index index of the move
+		 */
+		private void searchMove(int index) {
+			if (index > cutoff) {
+				return;
+			}
+			final Search search = getSearch(bitboard, ply, mode, table, control);
+			search.setOrder(order);
+			searchMove(search, index, floor);
+		}
+
+		/**
+		 * Searches a single root move and records its result. Using {@link SearchMode#PRINCIPAL_VARIATION}, the move is
+		 * searched with a null window first, if alpha has been raised, and only searched again if it is better.
+		 *
+		 * @param search the search of the calling thread
+		 * @param index  index of the move
+		 * @param alpha  lower bound of the window
+		 * @return the score, see {@link Search#searchMove(int, int, int, int)}
+		 */
+		private int searchMove(Search search, int index, int alpha) {
+			final int move = moves.get(index);
+			int score;
+			if (mode == SearchMode.PRINCIPAL_VARIATION && alpha > this.alpha) {
+				score = search.searchMove(move, ply, alpha, alpha + 1);
+				if (score != Search.ILLEGAL && score > alpha && score < beta) {
+					score = search.searchMove(move, ply, alpha, beta);
+				}
+			} else {
+				score = search.searchMove(move, ply, alpha, beta);
+			}
+			count.addAndGet((int) search.getNodes());
+			if (search.isAborted()) {
+				return score;
+			}
+			synchronized (this) {
+				scores[index] = score;
+				nodes[index] = search.getNodes();
+				exact[index] = score != Search.ILLEGAL && score > alpha && score < beta;
+				high[index] = score != Search.ILLEGAL && score >= beta;
+				done[index] = true;
+				lines[index] = search.getPrincipalVariation();
+				if (high[index] && index < cutoff) {
+					cutoff = index;
+				}
+			}
+			listener.run();
+			return score;
+		}
+
+		/**
+		 * Searches all root moves one after another within the calling thread.
+		 */
+		private void searchMoves() {
+			for (int i = searchFirst(); i < moves.size() && i <= cutoff && !control.isStopped(); i++) {
+				searchMove(i);
+			}
+		}
+
+		/**
+		 * Searches the first root move within the calling thread and splits the remaining ones among the threads of
+		 * the pool.
+		 */
+		private void splitMoves() {
+			final int first = searchFirst();
+			if (first < moves.size() && first <= cutoff && !control.isStopped()) {
+				pool.invoke(new Split(first, moves.size()));
+			}
+		}
+
+		/**
+		 * Reduces the results of all root moves to the best move. Of all moves with the best exact score, the one with
+		 * the lowest index is chosen, so the result does not depend on the order in which the threads finish. A move
+		 * scoring at least {@link #beta} is preferred to all others.
+		 *
+		 * @return the result, whose move is {@link Move#NONE} if there is no usable result
+		 */
+		private synchronized SearchResult getResult() {
+			long total = 0L;
+			int best = -1;
+			for (int i = 0; i < moves.size(); i++) {
+				total += nodes[i];
+				if (high[i] && (best == -1 || !high[best])) {
+					best = i;
+				} else if (exact[i] && (best == -1 || (!high[best] && scores[i] > scores[best]))) {
+					best = i;
+				}
+			}
+			if (best == -1 || (!high[best] && !done[0])) {
+				return new SearchResult(Move.NONE, alpha, new int[0], ply, total);
+			}
+			final SearchResult result = new SearchResult(moves.get(best), scores[best], lines[best], ply, total);
+			logger.debug("best move " + Move.toString(moves.get(best)) + " with score " + scores[best] + " after "
+					+ total + " nodes, principal variation " + result);
+			return result;
+		}
+
+		/**
+		 * Searches a range of root moves, splitting it until a single move is left.
+		 *
+		 * @author Torben Kr&uuml;ger
+		 */
+		private class Split extends RecursiveAction {
+
+			/**
+			 * Generated serial version UID.
+			 */
+			private static final long serialVersionUID = -3571424163412339452L;
+
+			/**
+			 * Index of the first move, inclusive.
+			 */
+			private final int from;
+
+			/**
+			 * Index of the last move, exclusive.
+			 */
+			private final int to;
+
+			/**
+			 * Creates a new {@link Split}.
+			 *
+			 * @param from index of the first move, inclusive
+			 * @param to   index of the last move, exclusive
+			 */
+			private Split(int from, int to) {
+				this.from = from;
+				this.to = to;
+			}
+
+			@Override
+			protected void compute() {
+				if (from > cutoff) {
+					return;
+				}
+				if (to - from == 1) {
+					searchMove(from);
+				} else if (to - from > 1) {
+					final int middle = (from + to) >>> 1;
+					// the first half is computed by this thread, so the moves are started roughly in their order
+					invokeAll(new Split(from, middle), new Split(middle, to));
+				}
+			}
+
+		}
+
+	}
+
+}
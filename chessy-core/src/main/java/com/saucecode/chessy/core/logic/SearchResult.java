@@ -0,0 +1,110 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * The result of a search: the best move, its score and the principal variation, which is the sequence of moves
+ * expected to be played by both colors.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class SearchResult {
+
+	/**
+	 * The best move, or {@link Move#NONE}.
+	 */
+	private final int move;
+
+	/**
+	 * The score of the best move for the color to move.
+	 */
+	private final int score;
+
+	/**
+	 * The principal variation, starting with the best move.
+	 */
+	private final int[] line;
+
+	/**
+	 * Number of plies searched.
+	 */
+	private final int depth;
+
+	/**
+	 * Number of nodes searched.
+	 */
+	private final long nodes;
+
+	/**
+	 * Creates a new {@link SearchResult}.
+	 *
+	 * @param move  the best move, or {@link Move#NONE}
+	 * @param score the score of the best move for the color to move
+	 * @param line  the principal variation, starting with the best move
+	 * @param depth number of plies searched
+	 * @param nodes number of nodes searched
+	 */
+	public SearchResult(int move, int score, int[] line, int depth, long nodes) {
+		this.move = move;
+		this.score = score;
+		this.line = line;
+		this.depth = depth;
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Returns the best move.
+	 *
+	 * @return the best move, or {@link Move#NONE} if there is no usable result
+	 */
+	public int getMove() {
+		return move;
+	}
+
+	/**
+	 * Returns the score of the best move for the color to move.
+	 *
+	 * @return the score
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Returns the principal variation.
+	 *
+	 * @return the moves expected to be played, starting with the best move
+	 */
+	public int[] getPrincipalVariation() {
+		return line.clone();
+	}
+
+	/**
+	 * Returns the number of plies searched.
+	 *
+	 * @return number of plies
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the number of nodes searched.
+	 *
+	 * @return number of nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		for (final int pvMove : line) {
+			if (builder.length() > 0) {
+				builder.append(' ');
+			}
+			builder.append(Move.toString(pvMove));
+		}
+		return builder.toString();
+	}
+
+}
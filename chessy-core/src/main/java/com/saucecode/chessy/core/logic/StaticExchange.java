@@ -0,0 +1,96 @@
+package com.saucecode.chessy.core.logic;
+
+import com.saucecode.chessy.core.figures.Pawn;
+import com.saucecode.chessy.core.figures.Queen;
+
+/**
+ * Static exchange evaluation (SEE) of a capture. The target square is captured back and forth, each color always
+ * capturing with its least valuable attacker, and each color may stop capturing whenever that is better for it.
+ * Sliding pieces behind a capturing piece join the exchange once that piece has left its square (x-rays). Pins and
+ * checks are ignored.
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class StaticExchange {
+
+	/**
+	 * Maximum number of captures of an exchange, which is the number of pieces. This is the minimum length of the
+	 * scratch array passed to {@link #evaluate(Bitboard, int, int[])}.
+	 */
+	public static final int MAX_CAPTURES = 32;
+
+	/**
+	 * Not instantiable.
+	 */
+	private StaticExchange() {
+	}
+
+	/**
+	 * Returns the material the color to move wins by a capture or promotion, if the exchange on the target square is
+	 * played out.
+	 *
+	 * @param bitboard the position
+	 * @param move     a pseudo-legal capture or promotion of the color to move
+	 * @return the material balance of the exchange, negative if the move loses material
+	 */
+	public static int evaluate(Bitboard bitboard, int move) {
+		return evaluate(bitboard, move, new int[MAX_CAPTURES]);
+	}
+
+	/**
+	 * Returns the material the color to move wins by a capture or promotion like {@link #evaluate(Bitboard, int)},
+	 * but uses a scratch array of the caller instead of allocating one.
+	 *
+	 * @param bitboard the position
+	 * @param move     a pseudo-legal capture or promotion of the color to move
+	 * @param gain     scratch array of at least {@link #MAX_CAPTURES} values, whose content is overwritten
+	 * @return the material balance of the exchange, negative if the move loses material
+	 */
+	public static int evaluate(Bitboard bitboard, int move, int[] gain) {
+		final int to = Move.to(move);
+		gain[0] = 0;
+		long occupied = bitboard.getOccupied();
+		int value = MoveOrder.VALUES[Bitboard.typeOf(Move.piece(move))];
+		if (Move.isCapture(move)) {
+			gain[0] = MoveOrder.VALUES[Bitboard.typeOf(Move.captured(move))];
+		}
+		if (Move.flag(move) == Move.PROMOTION) {
+			gain[0] += Queen.VALUE - Pawn.VALUE;
+			value = Queen.VALUE;
+		} else if (Move.flag(move) == Move.EN_PASSANT) {
+			occupied ^= 1L << (to ^ 8);
+		}
+		long from = 1L << Move.from(move);
+		long attackers = bitboard.getAttackers(to, occupied);
+		int color = bitboard.getSideToMove();
+		int depth = 0;
+		while (from != 0L) {
+			depth++;
+			// speculative gain, if the piece on the target square is captured
+			gain[depth] = value - gain[depth - 1];
+			if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+				break;
+			}
+			occupied ^= from;
+			attackers = bitboard.getAttackers(to, occupied) & occupied;
+			color ^= 1;
+			from = 0L;
+			for (int type = Bitboard.PAWN; type <= Bitboard.KING && from == 0L; type++) {
+				final long pieces = attackers & bitboard.getPieces(color, type);
+				if (pieces != 0L) {
+					// the king may only capture if the square is not defended anymore
+					if (type == Bitboard.KING && (attackers & bitboard.getOccupancy(color ^ 1)) != 0L) {
+						break;
+					}
+					from = pieces & -pieces;
+					value = MoveOrder.VALUES[type];
+				}
+			}
+		}
+		while (--depth > 0) {
+			gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+		}
+		return gain[0];
+	}
+
+}
@@ -0,0 +1,186 @@
+package com.saucecode.chessy.core.logic;
+
+/**
+ * A fixed-size transposition table, which stores search results by the {@link Zobrist} key of a position. Every entry
+ * occupies two {@code long} values: the key XORed with the data, and the data itself. A reader recomputes the key from
+ * both values, so an entry torn by concurrent writes simply fails verification. This allows all search threads to
+ * share one table without any locks.<br>
+ * The data is laid out as follows:
+ * <ul>
+ * <li>bits 0 - 22: best move</li>
+ * <li>bits 23 - 24: bound type</li>
+ * <li>bits 25 - 31: remaining depth</li>
+ * <li>bits 32 - 63: score</li>
+ * </ul>
+ *
+ * @see <a href="https://www.chessprogramming.org/Shared_Hash_Table#Lockless">https://www.chessprogramming.org/
+ *      Shared_Hash_Table#Lockless</a>
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public class TranspositionTable {
+
+	/**
+	 * Returned by {@link #probe(long)}, if there is no entry for a key.
+	 */
+	public static final long MISS = -1L;
+
+	/**
+	 * Bound type of an exact score.
+	 */
+	public static final int EXACT = 0;
+
+	/**
+	 * Bound type of a score, which is a lower bound of the exact score.
+	 */
+	public static final int LOWER = 1;
+
+	/**
+	 * Bound type of a score, which is an upper bound of the exact score.
+	 */
+	public static final int UPPER = 2;
+
+	/**
+	 * Maximum storable depth.
+	 */
+	public static final int MAX_DEPTH = 127;
+
+	/**
+	 * Size of an entry in bytes.
+	 */
+	private static final int ENTRY_SIZE = 16;
+
+	/**
+	 * The entries, two values each.
+	 */
+	private final long[] table;
+
+	/**
+	 * Mask for mapping a key to an entry index.
+	 */
+	private final int mask;
+
+	/**
+	 * The requested size in megabytes.
+	 */
+	private final int megabytes;
+
+	/**
+	 * Creates a new, empty {@link TranspositionTable}.
+	 *
+	 * @param megabytes the size in megabytes, which is rounded down to a power of two
+	 * @throws IllegalArgumentException if {@code megabytes} is not positive
+	 */
+	public TranspositionTable(int megabytes) {
+		if (megabytes < 1) {
+			throw new IllegalArgumentException("megabytes must be positive");
+		}
+		final int entries = Integer.highestOneBit((int) Math.min((megabytes * 1024L * 1024L) / ENTRY_SIZE,
+				Integer.highestOneBit(Integer.MAX_VALUE) / 2));
+		this.megabytes = megabytes;
+		table = new long[entries * 2];
+		mask = entries - 1;
+		clear();
+	}
+
+	/**
+	 * Returns the size this table has been created with.
+	 *
+	 * @return the size in megabytes
+	 */
+	public int getMegabytes() {
+		return megabytes;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		for (int i = 0; i < table.length; i += 2) {
+			table[i] = 0L;
+			table[i + 1] = MISS;
+		}
+	}
+
+	/**
+	 * Returns the data stored for a position.
+	 *
+	 * @param key key of the position
+	 * @return
+	 *         <ul>
+	 *         <li>the data, which can be decoded by {@link #getMove(long)}, {@link #getBound(long)},
+	 *         {@link #getDepth(long)} and {@link #getScore(long)}</li>
+	 *         <li>{@link #MISS}, if there is no valid entry</li>
+	 *         </ul>
+	 */
+	public long probe(long key) {
+		final int index = ((int) key & mask) << 1;
+		final long data = table[index + 1];
+		if ((table[index] ^ data) != key) {
+			return MISS;
+		}
+		return data;
+	}
+
+	/**
+	 * Stores a search result. An entry of the same position searched to a greater depth is kept.
+	 *
+	 * @param key   key of the position
+	 * @param depth remaining depth of the search
+	 * @param bound bound type of the score
+	 * @param score the score
+	 * @param move  the best move, or {@link Move#NONE}
+	 */
+	public void store(long key, int depth, int bound, int score, int move) {
+		final int index = ((int) key & mask) << 1;
+		final long old = table[index + 1];
+		if ((table[index] ^ old) == key && old != MISS && getDepth(old) > depth) {
+			return;
+		}
+		final long data = move | ((long) bound << 23) | ((long) Math.min(depth, MAX_DEPTH) << 25)
+				| ((long) score << 32);
+		table[index] = key ^ data;
+		table[index + 1] = data;
+	}
+
+	/**
+	 * Returns the best move of an entry.
+	 *
+	 * @param data the entry data
+	 * @return the best move, or {@link Move#NONE}
+	 */
+	public static int getMove(long data) {
+		return (int) (data & 0x7FFFFF);
+	}
+
+	/**
+	 * Returns the bound type of an entry.
+	 *
+	 * @param data the entry data
+	 * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+	 */
+	public static int getBound(long data) {
+		return (int) ((data >>> 23) & 0x3);
+	}
+
+	/**
+	 * Returns the remaining depth of an entry.
+	 *
+	 * @param data the entry data
+	 * @return remaining depth
+	 */
+	public static int getDepth(long data) {
+		return (int) ((data >>> 25) & 0x7F);
+	}
+
+	/**
+	 * Returns the score of an entry.
+	 *
+	 * @param data the entry data
+	 * @return the score
+	 */
+	public static int getScore(long data) {
+		return (int) (data >> 32);
+	}
+
+}
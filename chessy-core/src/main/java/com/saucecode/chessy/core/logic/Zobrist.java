@@ -0,0 +1,112 @@
+package com.saucecode.chessy.core.logic;
+
+import java.util.Random;
+
+/**
+ * Random keys for Zobrist hashing of a {@link Bitboard}. The key of a position is the XOR of the keys of all pieces on
+ * their squares, the side to move, the castling rights and the en passant file. The keys are generated from a fixed
+ * seed, so a position has the same key in every run.
+ *
+ * @see <a href="https://www.chessprogramming.org/Zobrist_Hashing">https://www.chessprogramming.org/Zobrist_Hashing</a>
+ *
+ * @author Torben Kr&uuml;ger
+ */
+public final class Zobrist {
+
+	/**
+	 * Seed of the random number generator.
+	 */
+	private static final long SEED = 0x5A0CEC0DEL;
+
+	/**
+	 * Keys of every piece on every square.
+	 */
+	private static final long[][] PIECES = new long[12][64];
+
+	/**
+	 * Key of black being the side to move.
+	 */
+	private static final long SIDE;
+
+	/**
+	 * Keys of every combination of castling rights.
+	 */
+	private static final long[] CASTLING = new long[16];
+
+	/**
+	 * Keys of every en passant file.
+	 */
+	private static final long[] EN_PASSANT = new long[8];
+
+	static {
+		final Random random = new Random(SEED);
+		for (int piece = 0; piece < 12; piece++) {
+			for (int square = 0; square < 64; square++) {
+				PIECES[piece][square] = random.nextLong();
+			}
+		}
+		SIDE = random.nextLong();
+		final long[] rights = new long[4];
+		for (int i = 0; i < 4; i++) {
+			rights[i] = random.nextLong();
+		}
+		for (int castling = 0; castling < 16; castling++) {
+			for (int i = 0; i < 4; i++) {
+				if ((castling & (1 << i)) != 0) {
+					CASTLING[castling] ^= rights[i];
+				}
+			}
+		}
+		for (int file = 0; file < 8; file++) {
+			EN_PASSANT[file] = random.nextLong();
+		}
+	}
+
+	/**
+	 * Not instantiable.
+	 */
+	private Zobrist() {
+	}
+
+	/**
+	 * Returns the key of a piece on a square.
+	 *
+	 * @param piece  the piece
+	 * @param square the square
+	 * @return the key
+	 */
+	public static long piece(int piece, int square) {
+		return PIECES[piece][square];
+	}
+
+	/**
+	 * Returns the key of a side to move.
+	 *
+	 * @param color the color to move
+	 * @return the key, which is {@code 0} for white
+	 */
+	public static long side(int color) {
+		return (color == Bitboard.WHITE) ? 0L : SIDE;
+	}
+
+	/**
+	 * Returns the key of a combination of castling rights.
+	 *
+	 * @param castling the castling rights
+	 * @return the key
+	 */
+	public static long castling(int castling) {
+		return CASTLING[castling];
+	}
+
+	/**
+	 * Returns the key of an en passant file.
+	 *
+	 * @param file the file, or {@code -1}
+	 * @return the key, which is {@code 0} for {@code -1}
+	 */
+	public static long enPassant(int file) {
+		return (file == -1) ? 0L : EN_PASSANT[file];
+	}
+
+}
@@ -1,6 +1,10 @@
 package com.saucecode.chessy.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -10,6 +14,8 @@ import org.junit.jupiter.api.Test;
 
 import com.saucecode.chessy.core.logic.Board;
 
+import javafx.application.Platform;
+
 class GameTest {
 
 	@BeforeAll
@@ -102,6 +108,35 @@ class GameTest {
 		assertEquals(Board.CHECKMATE_SCORE, game.scoreBlackProperty().get());
 	}
 
+	@Test
+	void testUndoAfterFinishedSearch() throws InterruptedException {
+		final Game game = new Game();
+		new GameBuffer(game);
+		game.aiBlackPlyProperty().set(1);
+		// block the JavaFX application thread, so the finished search cannot unlock the game by itself
+		final CountDownLatch latch = new CountDownLatch(1);
+		Platform.runLater(() -> {
+			try {
+				latch.await();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		try {
+			game.select(new Position(4, 1));
+			game.select(new Position(4, 3)); // a.i. move starts here
+			while (game.getCurrentPlayer() != Player.WHITE) {
+				Thread.sleep(GameBuffer.WAIT_INTERVAL);
+			}
+			assertTrue(game.isLocked());
+			game.undo();
+			assertFalse(game.isLocked());
+			assertEquals(Player.BLACK, game.getCurrentPlayer());
+		} finally {
+			latch.countDown();
+		}
+	}
+
 	@Test
 	void test2() {
 		final Game game = new Game();
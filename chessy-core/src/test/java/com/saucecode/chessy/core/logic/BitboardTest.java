@@ -0,0 +1,263 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.saucecode.chessy.core.Player;
+import com.saucecode.chessy.core.figures.King;
+import com.saucecode.chessy.core.figures.Pawn;
+import com.saucecode.chessy.core.figures.Queen;
+
+class BitboardTest {
+
+	/**
+	 * Creates a bitboard from the piece placement, side to move and castling fields of a FEN string.
+	 *
+	 * @param fen the FEN string
+	 * @return the bitboard
+	 */
+	static Bitboard fromFen(String fen) {
+		final String[] fields = fen.split(" ");
+		final Bitboard bitboard = new Bitboard();
+		int x = 0;
+		int y = 7;
+		for (final char c : fields[0].toCharArray()) {
+			if (c == '/') {
+				x = 0;
+				y--;
+			} else if (Character.isDigit(c)) {
+				x += c - '0';
+			} else {
+				final int color = Character.isUpperCase(c) ? Bitboard.WHITE : Bitboard.BLACK;
+				final int type = "pnbrqk".indexOf(Character.toLowerCase(c));
+				bitboard.setPiece(Bitboard.square(x, y), Bitboard.piece(color, type));
+				x++;
+			}
+		}
+		bitboard.setSideToMove(fields[1].equals("w") ? Bitboard.WHITE : Bitboard.BLACK);
+		int castling = 0;
+		castling |= fields[2].contains("K") ? Bitboard.CASTLING_WHITE_KING : 0;
+		castling |= fields[2].contains("Q") ? Bitboard.CASTLING_WHITE_QUEEN : 0;
+		castling |= fields[2].contains("k") ? Bitboard.CASTLING_BLACK_KING : 0;
+		castling |= fields[2].contains("q") ? Bitboard.CASTLING_BLACK_QUEEN : 0;
+		bitboard.setCastling(castling);
+		return bitboard;
+	}
+
+	/**
+	 * Counts the leaves of the legal move tree, verifying that every unmake restores the position.
+	 *
+	 * @param bitboard the position
+	 * @param depth    remaining depth
+	 * @return number of leaves
+	 */
+	private static long perft(Bitboard bitboard, int depth) {
+		if (depth == 0) {
+			return 1L;
+		}
+		final MoveList list = new MoveList();
+		MoveGenerator.generate(bitboard, list);
+		final int color = bitboard.getSideToMove();
+		final int score = bitboard.getScore(color);
+		final long key = bitboard.getKey();
+		assertEquals(bitboard.computeKey(), key);
+		long leaves = 0L;
+		for (int i = 0; i < list.size(); i++) {
+			final long undo = bitboard.makeMove(list.get(i));
+			if (!bitboard.isInCheck(color)) {
+				leaves += perft(bitboard, depth - 1);
+			}
+			bitboard.unmakeMove(list.get(i), undo);
+		}
+		assertEquals(score, bitboard.getScore(color));
+		assertEquals(key, bitboard.getKey());
+		return leaves;
+	}
+
+	/**
+	 * Asserts that the bitboard of a board matches its figures.
+	 *
+	 * @param board the board to be checked
+	 */
+	private static void assertMirrored(Board board) {
+		final Bitboard bitboard = board.getBitboard();
+		for (int x = 0; x < 8; x++) {
+			for (int y = 0; y < 8; y++) {
+				final Figure figure = board.getFigure(x, y);
+				final int expected = (figure == null) ? Bitboard.NO_PIECE : Bitboard.piece(figure.getFigureType());
+				assertEquals(expected, bitboard.getPiece(Bitboard.square(x, y)));
+			}
+		}
+		assertEquals(Bitboard.color(board.getCurrentPlayer()), bitboard.getSideToMove());
+		assertEquals(bitboard.computePawnKey(), bitboard.getPawnKey());
+		assertEquals(board.computeScoreTotal(Player.WHITE), bitboard.getScoreTotal(Bitboard.WHITE));
+		assertEquals(board.computeScoreTotal(Player.BLACK), bitboard.getScoreTotal(Bitboard.BLACK));
+	}
+
+	@Test
+	void testInitialPosition() {
+		final Board board = new Board();
+		assertMirrored(board);
+		assertEquals(32, Long.bitCount(board.getBitboard().getOccupied()));
+		assertEquals(0xFFFFL, board.getBitboard().getOccupancy(Bitboard.WHITE));
+		assertEquals(Bitboard.CASTLING_ALL, board.getBitboard().getCastling());
+		assertEquals(Bitboard.square(4, 0), board.getBitboard().getKingSquare(Bitboard.WHITE));
+	}
+
+	@Test
+	void testMirroredAfterMoves() {
+		Board board = new Board();
+		board = board.move(4, 1, 4, 3); // e2 e4
+		assertNotNull(board);
+		assertMirrored(board);
+		assertEquals(4, board.getBitboard().getEnPassant());
+		board = board.move(3, 6, 3, 4); // d7 d5
+		board = board.move(4, 3, 3, 4); // e4 x d5
+		assertNotNull(board);
+		assertMirrored(board);
+		assertEquals(-1, board.getBitboard().getEnPassant());
+		assertEquals(15, Long.bitCount(board.getBitboard().getOccupancy(Bitboard.BLACK)));
+	}
+
+	@Test
+	void testCastlingRights() {
+		Board board = new Board();
+		board = board.move(4, 1, 4, 3); // e2 e4
+		board = board.move(4, 6, 4, 4); // e7 e5
+		board = board.move(4, 0, 4, 1); // Ke1 e2
+		assertNotNull(board);
+		assertEquals(Bitboard.CASTLING_BLACK_KING | Bitboard.CASTLING_BLACK_QUEEN, board.getBitboard().getCastling());
+	}
+
+	@Test
+	void testQueries() {
+		Board board = new Board();
+		board = board.move(5, 1, 5, 2); // f2 f3
+		board = board.move(4, 6, 4, 5); // e7 e6
+		board = board.move(6, 1, 6, 3); // g2 g4
+		board = board.move(3, 7, 7, 3); // Qd8 h4
+		assertNotNull(board);
+		assertTrue(board.isInCheck(Player.WHITE));
+		assertFalse(board.isInCheck(Player.BLACK));
+		assertTrue(board.getKing(Player.WHITE) instanceof King);
+		assertEquals(7, board.getFigure(Queen.class, Player.BLACK).getX());
+		assertEquals(State.CHECKMATE_WHITE, board.getCurrentState());
+	}
+
+	@Test
+	void testPerftInitialPosition() {
+		final Bitboard bitboard = new Board().getBitboard();
+		assertEquals(20L, perft(bitboard, 1));
+		assertEquals(400L, perft(bitboard, 2));
+		assertEquals(8_902L, perft(bitboard, 3));
+		assertEquals(197_281L, perft(bitboard, 4));
+	}
+
+	@Test
+	void testPerftKiwipete() {
+		final Bitboard bitboard = fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+		assertEquals(48L, perft(bitboard, 1));
+		assertEquals(2_039L, perft(bitboard, 2));
+		assertEquals(97_862L, perft(bitboard, 3));
+	}
+
+	@Test
+	void testPerftEndgame() {
+		final Bitboard bitboard = fromFen("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -");
+		assertEquals(14L, perft(bitboard, 1));
+		assertEquals(191L, perft(bitboard, 2));
+		assertEquals(2_812L, perft(bitboard, 3));
+		assertEquals(43_238L, perft(bitboard, 4));
+	}
+
+	@Test
+	void testKeyTransposition() {
+		final Board board = new Board();
+		Board temp = board.move(6, 0, 5, 2); // Ng1 f3
+		temp = temp.move(6, 7, 5, 5); // Ng8 f6
+		temp = temp.move(5, 2, 6, 0); // Nf3 g1
+		temp = temp.move(5, 5, 6, 7); // Nf6 g8
+		assertEquals(board, temp);
+		assertEquals(board.hashCode(), temp.hashCode());
+		assertEquals(board.getKey(), temp.getBitboard().computeKey());
+		final Board moved = board.move(4, 1, 4, 3); // e2 e4
+		assertFalse(board.equals(moved));
+		assertEquals(moved.getBitboard().computeKey(), moved.getKey());
+	}
+
+	@Test
+	void testAttacks() {
+		assertEquals(2, Long.bitCount(Attacks.knight(Bitboard.square(0, 0))));
+		assertEquals(8, Long.bitCount(Attacks.king(Bitboard.square(4, 4))));
+		assertEquals(14, Long.bitCount(Attacks.rook(Bitboard.square(3, 3), 0L)));
+		assertEquals(13, Long.bitCount(Attacks.bishop(Bitboard.square(3, 3), 0L)));
+		final long blocker = 1L << Bitboard.square(3, 5);
+		assertEquals(12, Long.bitCount(Attacks.rook(Bitboard.square(3, 3), blocker)));
+	}
+
+	@Test
+	void testNullMove() {
+		Board board = new Board();
+		board = board.move(4, 1, 4, 3); // e2 e4
+		final Bitboard bitboard = board.getBitboard();
+		final long key = bitboard.getKey();
+		final int undo = bitboard.makeNullMove();
+		assertEquals(Bitboard.WHITE, bitboard.getSideToMove());
+		assertEquals(-1, bitboard.getEnPassant());
+		assertEquals(bitboard.computeKey(), bitboard.getKey());
+		bitboard.unmakeNullMove(undo);
+		assertEquals(Bitboard.BLACK, bitboard.getSideToMove());
+		assertEquals(4, bitboard.getEnPassant());
+		assertEquals(key, bitboard.getKey());
+	}
+
+	/**
+	 * Makes and unmakes a move given by its squares and returns the game phase after the move.
+	 *
+	 * @param bitboard the position
+	 * @param move     the move, like {@code "e2e4"}
+	 * @return the game phase after the move
+	 */
+	private static int phaseAfter(Bitboard bitboard, String move) {
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (Move.toString(moves.get(i)).equals(move)) {
+				final int phase = bitboard.getPhase();
+				final long undo = bitboard.makeMove(moves.get(i));
+				final int ret = bitboard.getPhase();
+				bitboard.unmakeMove(moves.get(i), undo);
+				assertEquals(phase, bitboard.getPhase());
+				return ret;
+			}
+		}
+		throw new IllegalArgumentException("no such move");
+	}
+
+	@Test
+	void testPhase() {
+		assertEquals(Bitboard.PHASE_MAX, new Board().getBitboard().getPhase());
+		final Bitboard kiwipete = fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+		assertEquals(Bitboard.PHASE_MAX, kiwipete.getPhase());
+		assertEquals(Bitboard.PHASE_MAX - 1, phaseAfter(kiwipete, "f3f6"));
+		assertEquals(Bitboard.PHASE_MAX, phaseAfter(kiwipete, "e5f7"));
+		final Bitboard endgame = fromFen("4k3/1P6/8/8/8/8/8/4K3 w - -");
+		assertEquals(0, endgame.getPhase());
+		assertEquals(4, phaseAfter(endgame, "b7b8"));
+		// without any pieces, the king is evaluated by the late game table only
+		assertEquals(King.VALUE + King.EVAL_LATE_GAME[4][0], endgame.getScoreTotal(Bitboard.WHITE) - Pawn.VALUE
+				- Pawn.EVAL[1][6]);
+	}
+
+	@Test
+	void testHasPieces() {
+		final Bitboard bitboard = fromFen("4k3/pp6/8/8/8/8/6P1/4KB2 w - -");
+		assertTrue(bitboard.hasPieces(Bitboard.WHITE));
+		assertFalse(bitboard.hasPieces(Bitboard.BLACK));
+	}
+
+}
@@ -0,0 +1,245 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import com.saucecode.chessy.core.ParallelMode;
+import com.saucecode.chessy.core.SearchMode;
+
+class BoardTest {
+
+	private static final SearchExecutor EXECUTOR = new SearchExecutor(1);
+
+	@AfterAll
+	static void tearDownAfterClass() {
+		EXECUTOR.shutdown();
+	}
+
+	/**
+	 * Searches a position by iterative deepening without a transposition table.
+	 *
+	 * @param bitboard the position
+	 * @param ply      number of plies
+	 * @param control  tells when to stop
+	 * @param progress receives every reported progress
+	 * @return the result
+	 */
+	private static SearchResult deepen(Bitboard bitboard, int ply, SearchControl control, List<Double> progress) {
+		return Board.deepen(bitboard, ply, control, progress::add, EXECUTOR, ParallelMode.SINGLE_THREADED,
+				SearchMode.ALPHA_BETA, null, new AtomicInteger());
+	}
+
+	/**
+	 * Returns the score of a single search with a full window.
+	 *
+	 * @param bitboard the position
+	 * @param ply      number of plies
+	 * @return the score
+	 */
+	private static int score(Bitboard bitboard, int ply) {
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		return EXECUTOR.search(bitboard, moves, ply, SearchMode.ALPHA_BETA, ParallelMode.SINGLE_THREADED, null,
+				new SearchControl(0L), new AtomicInteger(), () -> {
+				}).getScore();
+	}
+
+	/**
+	 * Asserts that all progress values lie between {@code 0.0} and {@code 1.0}, and that the last one is
+	 * {@code 1.0}.
+	 *
+	 * @param progress the reported progress
+	 * @return {@code true}, if the progress has been restarted by searching an iteration again
+	 */
+	private static boolean assertProgress(List<Double> progress) {
+		boolean restarted = false;
+		for (int i = 0; i < progress.size(); i++) {
+			assertTrue(progress.get(i) >= 0.0 && progress.get(i) <= 1.0);
+			if (i > 0 && progress.get(i) < progress.get(i - 1)) {
+				restarted = true;
+			}
+		}
+		assertEquals(1.0, progress.get(progress.size() - 1), 1e-9);
+		return restarted;
+	}
+
+	@Test
+	void testIterativeDeepening() {
+		final Bitboard bitboard = new Board().getBitboard();
+		final List<Double> progress = new ArrayList<>();
+		final SearchResult result = deepen(bitboard, 3, new SearchControl(0L), progress);
+		assertEquals(3, result.getDepth());
+		assertEquals(score(bitboard, 3), result.getScore());
+		assertEquals(0.0, progress.get(0));
+		assertProgress(progress);
+	}
+
+	@Test
+	void testAspirationFailHigh() {
+		// the checkmate found at ply 3 lies far above the window around the score of ply 2
+		final Bitboard bitboard = BitboardTest.fromFen("2r3k1/5ppp/8/8/8/8/4R3/4R1K1 w - -");
+		final List<Double> progress = new ArrayList<>();
+		final SearchResult result = deepen(bitboard, 3, new SearchControl(0L), progress);
+		assertEquals(score(bitboard, 3), result.getScore());
+		assertEquals("e2e8", Move.toString(result.getMove()));
+		assertTrue(assertProgress(progress));
+	}
+
+	@Test
+	void testAspirationFailLow() {
+		// ply 4 reveals a loss, which lies below the window around the score of ply 3
+		final Bitboard bitboard = BitboardTest
+				.fromFen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq -");
+		final List<Double> progress = new ArrayList<>();
+		final SearchResult result = deepen(bitboard, 4, new SearchControl(0L), progress);
+		assertEquals(4, result.getDepth());
+		assertEquals(score(bitboard, 4), result.getScore());
+		assertTrue(assertProgress(progress));
+	}
+
+	@Test
+	void testLazySmp() throws InterruptedException {
+		// the helpers deepen on their own during the whole search and are stopped once it ends
+		final SearchExecutor executor = new SearchExecutor(4);
+		final Bitboard bitboard = BitboardTest
+				.fromFen("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq -");
+		final TranspositionTable table = new TranspositionTable(1);
+		final AtomicInteger count = new AtomicInteger();
+		final SearchResult result = Board.deepen(bitboard, 4, new SearchControl(0L), value -> {
+		}, executor, ParallelMode.LAZY_SMP, SearchMode.PRINCIPAL_VARIATION, table, count);
+		assertEquals(4, result.getDepth());
+		assertTrue(bitboard.isLegal(result.getMove()));
+		final int nodes = count.get();
+		Thread.sleep(100L);
+		assertEquals(nodes, count.get());
+		executor.shutdown();
+	}
+
+	@Test
+	void testMove() {
+		// the searched moves are played by the rules of the figures, which must lead to the same positions
+		Board board = new Board();
+		for (int i = 0; i < 8; i++) {
+			final SearchResult result = board.getMax(2, new SearchControl(0L), value -> {
+			}, EXECUTOR, ParallelMode.SINGLE_THREADED, SearchMode.PRINCIPAL_VARIATION, null, new AtomicInteger());
+			final Bitboard expected = new Bitboard(board.getBitboard());
+			expected.makeMove(result.getMove());
+			board = board.move(result.getMove());
+			assertEquals(expected.getKey(), board.getBitboard().getKey());
+			assertEquals(expected.getPiece(Move.to(result.getMove())),
+					board.getBitboard().getPiece(Move.to(result.getMove())));
+		}
+	}
+
+	/**
+	 * Asserts that every legal move up to a given depth leads to the same position, whether it is performed by the
+	 * figures or by the bitboard.
+	 *
+	 * @param board the board
+	 * @param depth number of plies
+	 */
+	private static void assertMovesAgree(Board board, int depth) {
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(board.getBitboard(), moves);
+		for (int i = 0; i < moves.size(); i++) {
+			final int move = moves.get(i);
+			if (!board.getBitboard().isLegal(move)) {
+				continue;
+			}
+			final Bitboard expected = new Bitboard(board.getBitboard());
+			expected.makeMove(move);
+			final Board next = board.move(move);
+			for (int square = 0; square < 64; square++) {
+				final Figure figure = next.getFigure(square & 7, square >>> 3);
+				assertEquals(expected.getPiece(square),
+						(figure == null) ? Bitboard.NO_PIECE : Bitboard.piece(figure.getFigureType()));
+			}
+			assertEquals(expected.getKey(), next.getBitboard().getKey());
+			if (depth > 1) {
+				assertMovesAgree(next, depth - 1);
+			}
+		}
+	}
+
+	/**
+	 * Counts the legal moves of a kind.
+	 *
+	 * @param board the board
+	 * @param flag  the flag of the moves
+	 * @return number of legal moves with the flag
+	 */
+	private static int countMoves(Board board, int flag) {
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(board.getBitboard(), moves);
+		int count = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			if (Move.flag(moves.get(i)) == flag && board.getBitboard().isLegal(moves.get(i))) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	void testMoveSpecial() {
+		// both colors may castle to both sides
+		Board board = new Board();
+		final int[][] castling = { { 4, 1, 4, 3 }, { 4, 6, 4, 4 }, { 6, 0, 5, 2 }, { 1, 7, 2, 5 }, { 5, 0, 2, 3 },
+				{ 5, 7, 2, 4 }, { 3, 1, 3, 2 }, { 3, 6, 3, 5 }, { 2, 0, 4, 2 }, { 2, 7, 4, 5 }, { 1, 0, 2, 2 },
+				{ 6, 7, 5, 5 }, { 3, 0, 3, 1 }, { 3, 7, 3, 6 } };
+		for (final int[] move : castling) {
+			board = board.move(move[0], move[1], move[2], move[3]);
+		}
+		assertEquals(2, countMoves(board, Move.CASTLING));
+		assertMovesAgree(board, 2);
+		// e5 may capture d5 en passant
+		board = new Board();
+		final int[][] enPassant = { { 4, 1, 4, 3 }, { 0, 6, 0, 5 }, { 4, 3, 4, 4 }, { 3, 6, 3, 4 } };
+		for (final int[] move : enPassant) {
+			board = board.move(move[0], move[1], move[2], move[3]);
+		}
+		assertEquals(1, countMoves(board, Move.EN_PASSANT));
+		assertMovesAgree(board, 2);
+		// g7 may promote by moving to g8 or by capturing on h8 or f8
+		board = new Board();
+		final int[][] promotion = { { 7, 1, 7, 3 }, { 6, 6, 6, 4 }, { 7, 3, 6, 4 }, { 7, 6, 7, 4 }, { 6, 4, 6, 5 },
+				{ 6, 7, 5, 5 }, { 6, 5, 6, 6 }, { 4, 6, 4, 5 } };
+		for (final int[] move : promotion) {
+			board = board.move(move[0], move[1], move[2], move[3]);
+		}
+		assertEquals(3, countMoves(board, Move.PROMOTION));
+		assertMovesAgree(board, 2);
+	}
+
+	@Test
+	void testMoveIllegal() {
+		// a pawn may not move three squares
+		final int move = Move.create(Bitboard.square(4, 1), Bitboard.square(4, 4),
+				Bitboard.piece(Bitboard.WHITE, Bitboard.PAWN), Bitboard.NO_PIECE, Move.NORMAL);
+		assertThrows(IllegalArgumentException.class, () -> new Board().move(move));
+	}
+
+	@Test
+	void testTimeCut() {
+		// the deadline lies in the past, but is never polled, so only the time cut stops the search
+		final SearchControl control = new SearchControl(1L) {
+			@Override
+			public boolean isStopped() {
+				return isCancelled();
+			}
+		};
+		final List<Double> progress = new ArrayList<>();
+		final SearchResult result = deepen(new Board().getBitboard(), 5, control, progress);
+		assertEquals(1, result.getDepth());
+		assertEquals(0.2, progress.get(progress.size() - 1), 1e-9);
+	}
+
+}
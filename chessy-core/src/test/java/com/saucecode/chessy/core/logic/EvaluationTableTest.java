@@ -0,0 +1,50 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class EvaluationTableTest {
+
+	@Test
+	void testStoreAndProbe() {
+		final EvaluationTable table = new EvaluationTable(16);
+		final long key = 0x123456789ABCDEFL;
+		assertEquals(EvaluationTable.MISS, table.probe(key));
+		table.store(key, -1);
+		assertEquals(-1, EvaluationTable.getScore(table.probe(key)));
+		// a key mapped to the same entry replaces it
+		table.store(key + 16, 250);
+		assertEquals(EvaluationTable.MISS, table.probe(key));
+		assertEquals(250, EvaluationTable.getScore(table.probe(key + 16)));
+		table.clear();
+		assertEquals(EvaluationTable.MISS, table.probe(key + 16));
+		assertThrows(IllegalArgumentException.class, () -> new EvaluationTable(0));
+	}
+
+	@Test
+	void testEvaluation() {
+		final String[] fens = { "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+				"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b KQkq -", "4k3/8/8/8/8/P7/P7/4K3 w - -" };
+		for (final String fen : fens) {
+			final Bitboard bitboard = BitboardTest.fromFen(fen);
+			// the second evaluation is answered by the table
+			assertEquals(Evaluation.compute(bitboard), Evaluation.evaluate(bitboard));
+			assertEquals(Evaluation.compute(bitboard), Evaluation.evaluate(bitboard));
+		}
+	}
+
+	@Test
+	void testLazyEvaluation() {
+		// white is a rook ahead, but the doubled, isolated pawns cost points
+		final Bitboard bitboard = BitboardTest.fromFen("4k3/8/8/8/8/P7/P7/R3K3 w - -");
+		final int cheap = bitboard.getScore(Bitboard.WHITE);
+		final int exact = Evaluation.compute(bitboard);
+		assertEquals(exact, Evaluation.evaluate(bitboard, cheap - 1, cheap + 1));
+		// far outside of the window, the expensive terms are skipped
+		assertEquals(cheap, Evaluation.evaluate(bitboard, -Search.INFINITY, cheap - Evaluation.LAZY_MARGIN));
+		assertEquals(cheap, Evaluation.evaluate(bitboard, cheap + Evaluation.LAZY_MARGIN, Search.INFINITY));
+	}
+
+}
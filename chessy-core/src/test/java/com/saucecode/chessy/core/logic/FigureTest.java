@@ -0,0 +1,120 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.saucecode.chessy.core.Player;
+
+class FigureTest {
+
+	@Test
+	void testEnPassant() {
+		Board board = new Board();
+		board = board.move(4, 1, 4, 3); // e2 e4
+		board = board.move(0, 6, 0, 5); // a7 a6
+		board = board.move(4, 3, 4, 4); // e4 e5
+		board = board.move(3, 6, 3, 4); // d7 d5
+		final Figure pawn = board.getFigure(4, 4);
+		assertEquals(Move.EN_PASSANT, Move.flag(pawn.getMove(3, 5)));
+		assertEquals(Bitboard.piece(Bitboard.BLACK, Bitboard.PAWN), Move.captured(pawn.getMove(3, 5)));
+		// no side effects: the move can be queried again and other moves stay normal
+		assertEquals(Move.EN_PASSANT, Move.flag(pawn.getMove(3, 5)));
+		assertEquals(Move.NORMAL, Move.flag(pawn.getMove(4, 5)));
+
+		final Board after = board.move(4, 4, 3, 5); // e5 d6 e.p.
+		assertNotNull(after);
+		assertNull(after.getFigure(3, 4));
+		assertEquals(Bitboard.piece(Bitboard.WHITE, Bitboard.PAWN), after.getBitboard().getPiece(Bitboard.square(3, 5)));
+	}
+
+	@Test
+	void testNoWeirdEnPassant() {
+		Board board = new Board();
+		board = board.move(4, 1, 4, 3); // e2 e4
+		board = board.move(0, 6, 0, 5); // a7 a6
+		board = board.move(4, 3, 4, 4); // e4 e5
+		board = board.move(3, 6, 3, 4); // d7 d5
+		assertNull(board.move(4, 4, 3, 3)); // e5 d4
+		assertNull(board.move(4, 4, 3, 2)); // e5 d3
+		assertNull(board.move(4, 4, 3, 6)); // e5 d7
+		// the right expires after one move
+		board = board.move(6, 0, 5, 2); // g1 f3
+		board = board.move(0, 5, 0, 4); // a6 a5
+		assertNull(board.move(4, 4, 3, 5)); // e5 d6
+	}
+
+	@Test
+	void testDoublePush() {
+		final Board board = new Board();
+		assertEquals(Move.DOUBLE_PUSH, Move.flag(board.getFigure(4, 1).getMove(4, 3)));
+		assertEquals(Move.NORMAL, Move.flag(board.getFigure(4, 1).getMove(4, 2)));
+		assertEquals(Move.NONE, board.getFigure(4, 1).getMove(4, 4));
+		assertEquals(4, board.move(4, 1, 4, 3).getMarker(Player.WHITE));
+	}
+
+	/**
+	 * Returns all legal moves of a board according to its figures, as "from to" squares.
+	 *
+	 * @param board the board
+	 * @return all legal moves
+	 */
+	private static Set<Integer> getFigureMoves(Board board) {
+		final Set<Integer> moves = new TreeSet<>();
+		for (int from = 0; from < 64; from++) {
+			for (int to = 0; to < 64; to++) {
+				if (board.move(from & 7, from >>> 3, to & 7, to >>> 3) != null) {
+					moves.add(from * 64 + to);
+				}
+			}
+		}
+		return moves;
+	}
+
+	/**
+	 * Returns all legal moves of a board according to the {@link MoveGenerator}, as "from to" squares.
+	 *
+	 * @param board the board
+	 * @return all legal moves
+	 */
+	private static Set<Integer> getGeneratedMoves(Board board) {
+		final Set<Integer> moves = new TreeSet<>();
+		final MoveList list = new MoveList();
+		MoveGenerator.generate(board.getBitboard(), list);
+		for (int i = 0; i < list.size(); i++) {
+			if (board.getBitboard().isLegal(list.get(i))) {
+				moves.add(Move.from(list.get(i)) * 64 + Move.to(list.get(i)));
+			}
+		}
+		return moves;
+	}
+
+	@Test
+	void testRandomGamesMatchMoveGenerator() {
+		final Random random = new Random(42L);
+		for (int game = 0; game < 4; game++) {
+			Board board = new Board();
+			for (int ply = 0; ply < 120; ply++) {
+				final Set<Integer> moves = getFigureMoves(board);
+				assertEquals(getGeneratedMoves(board), moves, board.toString());
+				if (moves.isEmpty()) {
+					break;
+				}
+				final List<Integer> list = new ArrayList<>(moves);
+				final int move = list.get(random.nextInt(list.size()));
+				final int from = move / 64;
+				final int to = move % 64;
+				board = board.move(from & 7, from >>> 3, to & 7, to >>> 3);
+			}
+		}
+	}
+
+}
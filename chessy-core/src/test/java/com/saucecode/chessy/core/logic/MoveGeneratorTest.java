@@ -0,0 +1,151 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MoveGeneratorTest {
+
+	/**
+	 * Counts the moves of a list with a certain flag.
+	 *
+	 * @param list the list
+	 * @param flag the flag
+	 * @return number of moves with the flag
+	 */
+	private static int count(MoveList list, int flag) {
+		int count = 0;
+		for (int i = 0; i < list.size(); i++) {
+			if (Move.flag(list.get(i)) == flag) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the moves of a list as a set.
+	 *
+	 * @param list the list
+	 * @return the moves
+	 */
+	private static Set<Integer> toSet(MoveList list) {
+		final Set<Integer> set = new HashSet<>();
+		for (int i = 0; i < list.size(); i++) {
+			set.add(list.get(i));
+		}
+		return set;
+	}
+
+	@Test
+	void testInitialPosition() {
+		final MoveList list = new MoveList();
+		MoveGenerator.generate(new Board().getBitboard(), list);
+		assertEquals(20, list.size());
+		assertEquals(8, count(list, Move.DOUBLE_PUSH));
+	}
+
+	@Test
+	void testEnPassant() {
+		Board board = new Board();
+		board = board.move(4, 1, 4, 3); // e2 e4
+		board = board.move(0, 6, 0, 5); // a7 a6
+		board = board.move(4, 3, 4, 4); // e4 e5
+		board = board.move(3, 6, 3, 4); // d7 d5
+		final MoveList list = new MoveList();
+		MoveGenerator.generate(board.getBitboard(), list);
+		assertEquals(1, count(list, Move.EN_PASSANT));
+		for (int i = 0; i < list.size(); i++) {
+			if (Move.flag(list.get(i)) == Move.EN_PASSANT) {
+				assertEquals(Bitboard.square(3, 5), Move.to(list.get(i)));
+				assertEquals(Bitboard.piece(Bitboard.BLACK, Bitboard.PAWN), Move.captured(list.get(i)));
+				assertTrue(board.getBitboard().isLegal(list.get(i)));
+			}
+		}
+	}
+
+	@Test
+	void testCastling() {
+		Board board = new Board();
+		board = board.move(4, 1, 4, 3); // e2 e4
+		board = board.move(4, 6, 4, 4); // e7 e5
+		board = board.move(6, 0, 5, 2); // Ng1 f3
+		board = board.move(1, 7, 2, 5); // Nb8 c6
+		board = board.move(5, 0, 2, 3); // Bf1 c4
+		board = board.move(6, 7, 5, 5); // Ng8 f6
+		final MoveList list = new MoveList();
+		MoveGenerator.generate(board.getBitboard(), list);
+		assertEquals(1, count(list, Move.CASTLING));
+	}
+
+	@Test
+	void testHasLegalMove() {
+		Board board = new Board();
+		assertTrue(MoveGenerator.hasLegalMove(board.getBitboard(), new MoveList()));
+		board = board.move(5, 1, 5, 2); // f2 f3
+		board = board.move(4, 6, 4, 5); // e7 e6
+		board = board.move(6, 1, 6, 3); // g2 g4
+		board = board.move(3, 7, 7, 3); // Qd8 h4
+		assertFalse(MoveGenerator.hasLegalMove(board.getBitboard(), new MoveList()));
+	}
+
+	@Test
+	void testStages() {
+		final String[] fens = { "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+				"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -", "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - -" };
+		final MoveList all = new MoveList();
+		final MoveList captures = new MoveList();
+		final MoveList quiets = new MoveList();
+		for (final String fen : fens) {
+			final Bitboard bitboard = BitboardTest.fromFen(fen);
+			MoveGenerator.generate(bitboard, all);
+			MoveGenerator.generateCaptures(bitboard, captures);
+			MoveGenerator.generateQuiets(bitboard, quiets);
+			assertEquals(all.size(), captures.size() + quiets.size());
+			final Set<Integer> set = toSet(captures);
+			set.addAll(toSet(quiets));
+			assertEquals(toSet(all), set);
+			for (int i = 0; i < captures.size(); i++) {
+				assertTrue(Move.isCapture(captures.get(i)) || Move.flag(captures.get(i)) == Move.PROMOTION);
+			}
+		}
+	}
+
+	@Test
+	void testPseudoLegal() {
+		final Random random = new Random(42L);
+		final Set<Integer> seen = new HashSet<>();
+		final MoveList list = new MoveList();
+		for (int game = 0; game < 20; game++) {
+			final Bitboard bitboard = new Board().getBitboard();
+			for (int ply = 0; ply < 80; ply++) {
+				MoveGenerator.generate(bitboard, list);
+				final Set<Integer> moves = toSet(list);
+				seen.addAll(moves);
+				for (final int move : seen) {
+					assertEquals(moves.contains(move), MoveGenerator.isPseudoLegal(bitboard, move), Move.toString(move));
+				}
+				final int offset = random.nextInt(list.size());
+				int move = Move.NONE;
+				for (int i = 0; i < list.size() && move == Move.NONE; i++) {
+					final int candidate = list.get((i + offset) % list.size());
+					if (bitboard.isLegal(candidate)) {
+						move = candidate;
+					}
+				}
+				if (move == Move.NONE) {
+					break;
+				}
+				bitboard.makeMove(move);
+			}
+		}
+		assertFalse(MoveGenerator.isPseudoLegal(new Board().getBitboard(), Move.NONE));
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MoveOrderTest {
+
+	private static final int WHITE_PAWN = Bitboard.piece(Bitboard.WHITE, Bitboard.PAWN);
+
+	private static final int WHITE_KNIGHT = Bitboard.piece(Bitboard.WHITE, Bitboard.KNIGHT);
+
+	private static final int WHITE_QUEEN = Bitboard.piece(Bitboard.WHITE, Bitboard.QUEEN);
+
+	private static final int BLACK_PAWN = Bitboard.piece(Bitboard.BLACK, Bitboard.PAWN);
+
+	private static final int BLACK_ROOK = Bitboard.piece(Bitboard.BLACK, Bitboard.ROOK);
+
+	private static final int BLACK_QUEEN = Bitboard.piece(Bitboard.BLACK, Bitboard.QUEEN);
+
+	@Test
+	void testCaptures() {
+		final MoveOrder order = new MoveOrder(4);
+		final int queenTakesRook = Move.create(3, 59, WHITE_QUEEN, BLACK_ROOK, Move.NORMAL);
+		final int pawnTakesRook = Move.create(50, 59, WHITE_PAWN, BLACK_ROOK, Move.PROMOTION);
+		final int knightTakesQueen = Move.create(42, 59, WHITE_KNIGHT, BLACK_QUEEN, Move.NORMAL);
+		final int queenTakesPawn = Move.create(3, 51, WHITE_QUEEN, BLACK_PAWN, Move.NORMAL);
+		final int promotion = Move.create(52, 60, WHITE_PAWN, Bitboard.NO_PIECE, Move.PROMOTION);
+		assertTrue(order.scoreCapture(pawnTakesRook) > order.scoreCapture(knightTakesQueen));
+		assertTrue(order.scoreCapture(knightTakesQueen) > order.scoreCapture(promotion));
+		assertTrue(order.scoreCapture(promotion) > order.scoreCapture(queenTakesRook));
+		assertTrue(order.scoreCapture(queenTakesRook) > order.scoreCapture(queenTakesPawn));
+		assertTrue(order.isGoodCapture(knightTakesQueen));
+		assertTrue(order.isGoodCapture(promotion));
+		assertFalse(order.isGoodCapture(queenTakesRook));
+		assertFalse(order.isGoodCapture(queenTakesPawn));
+	}
+
+	@Test
+	void testKillers() {
+		final MoveOrder order = new MoveOrder(2);
+		final int first = Move.create(1, 18, WHITE_KNIGHT, Bitboard.NO_PIECE, Move.NORMAL);
+		final int second = Move.create(6, 21, WHITE_KNIGHT, Bitboard.NO_PIECE, Move.NORMAL);
+		final int third = Move.create(12, 20, WHITE_PAWN, Bitboard.NO_PIECE, Move.NORMAL);
+		order.update(first, 2);
+		order.update(second, 2);
+		order.update(second, 2);
+		assertEquals(second, order.getKiller(2, 0));
+		assertEquals(first, order.getKiller(2, 1));
+		order.update(third, 2);
+		assertEquals(third, order.getKiller(2, 0));
+		assertEquals(second, order.getKiller(2, 1));
+		// killers only apply to the same number of remaining plies, the history everywhere
+		assertEquals(Move.NONE, order.getKiller(1, 0));
+		assertEquals(4, order.scoreQuiet(first));
+		assertEquals(8, order.scoreQuiet(second));
+		// captures are never recorded
+		order.update(Move.create(3, 59, WHITE_QUEEN, BLACK_ROOK, Move.NORMAL), 2);
+		assertEquals(third, order.getKiller(2, 0));
+	}
+
+	@Test
+	void testHistoryAging() {
+		final MoveOrder order = new MoveOrder(200);
+		final int move = Move.create(1, 18, WHITE_KNIGHT, Bitboard.NO_PIECE, Move.NORMAL);
+		final int other = Move.create(6, 21, WHITE_KNIGHT, Bitboard.NO_PIECE, Move.NORMAL);
+		order.update(other, 100);
+		for (int i = 0; i < 40; i++) {
+			order.update(move, 100);
+		}
+		final int score = order.scoreQuiet(move);
+		assertTrue(score <= MoveOrder.HISTORY_MAX && score > 0);
+		assertEquals(5_000, order.scoreQuiet(other));
+	}
+
+	@Test
+	void testCopy() {
+		final MoveOrder order = new MoveOrder(4);
+		final int move = Move.create(1, 18, WHITE_KNIGHT, Bitboard.NO_PIECE, Move.NORMAL);
+		order.update(move, 4);
+		final MoveOrder copy = new MoveOrder(2);
+		copy.set(order);
+		assertEquals(16, copy.scoreQuiet(move));
+		// killers of more remaining plies than the copy supports are dropped
+		assertEquals(Move.NONE, copy.getKiller(2, 0));
+		order.clear();
+		assertEquals(Move.NONE, order.getKiller(4, 0));
+		assertEquals(0, order.scoreQuiet(move));
+		assertEquals(16, copy.scoreQuiet(move));
+	}
+
+}
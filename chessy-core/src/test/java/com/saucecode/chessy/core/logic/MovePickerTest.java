@@ -0,0 +1,88 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MovePickerTest {
+
+	/**
+	 * Returns all moves yielded by a picker.
+	 *
+	 * @param picker the picker
+	 * @return the moves in the order they have been yielded
+	 */
+	private static List<Integer> drain(MovePicker picker) {
+		final List<Integer> moves = new ArrayList<>();
+		for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+			moves.add(move);
+		}
+		return moves;
+	}
+
+	@Test
+	void testStages() {
+		final Bitboard bitboard = BitboardTest
+				.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+		final MoveList all = new MoveList();
+		MoveGenerator.generate(bitboard, all);
+		final Set<Integer> expected = new HashSet<>();
+		int hash = Move.NONE;
+		int killer = Move.NONE;
+		for (int i = 0; i < all.size(); i++) {
+			expected.add(all.get(i));
+			if (!Move.isCapture(all.get(i))) {
+				if (hash == Move.NONE) {
+					hash = all.get(i);
+				} else {
+					killer = all.get(i);
+				}
+			}
+		}
+		final MoveOrder order = new MoveOrder(3);
+		order.update(killer, 3);
+		final MovePicker picker = new MovePicker(bitboard, order);
+		picker.init(hash, 3);
+		final List<Integer> moves = drain(picker);
+		assertEquals(all.size(), moves.size());
+		assertEquals(expected, new HashSet<>(moves));
+		assertEquals(hash, (int) moves.get(0));
+		int i = 1;
+		int last = Integer.MAX_VALUE;
+		for (; Move.isCapture(moves.get(i)) && StaticExchange.evaluate(bitboard, moves.get(i)) >= 0; i++) {
+			assertTrue(order.scoreCapture(moves.get(i)) <= last);
+			last = order.scoreCapture(moves.get(i));
+		}
+		assertTrue(i > 1);
+		assertEquals(killer, (int) moves.get(i));
+		for (i++; !Move.isCapture(moves.get(i)); i++) {
+			assertFalse(moves.get(i) == hash || moves.get(i) == killer);
+		}
+		last = Integer.MAX_VALUE;
+		for (; i < moves.size(); i++) {
+			final int exchange = StaticExchange.evaluate(bitboard, moves.get(i));
+			assertTrue(exchange < 0 && exchange <= last);
+			last = exchange;
+		}
+		// the position is unchanged, so the same picker can be reused
+		picker.init(Move.NONE, 2);
+		assertEquals(expected, new HashSet<>(drain(picker)));
+	}
+
+	@Test
+	void testInvalidHashMove() {
+		final Bitboard bitboard = new Board().getBitboard();
+		final MovePicker picker = new MovePicker(bitboard, new MoveOrder(1));
+		picker.init(Move.create(8, 24, Bitboard.piece(Bitboard.BLACK, Bitboard.PAWN), Bitboard.NO_PIECE,
+				Move.DOUBLE_PUSH), 1);
+		assertEquals(20, drain(picker).size());
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PawnTableTest {
+
+	@Test
+	void testDoubledAndTripled() {
+		// both pawns are isolated and passed
+		assertEquals(-PawnTable.DOUBLED - 2 * PawnTable.ISOLATED + PawnTable.PASSED[1] + PawnTable.PASSED[2],
+				PawnTable.computeScore(BitboardTest.fromFen("4k3/8/8/8/8/P7/P7/4K3 w - -")));
+		assertEquals(-PawnTable.TRIPLED - 3 * PawnTable.ISOLATED + PawnTable.PASSED[1] + PawnTable.PASSED[2]
+				+ PawnTable.PASSED[3], PawnTable.computeScore(BitboardTest.fromFen("4k3/8/8/8/P7/P7/P7/4K3 w - -")));
+	}
+
+	@Test
+	void testIsolatedAndPassed() {
+		// the pawns block each other on adjacent files, so none of them is passed
+		assertEquals(0, PawnTable.computeScore(BitboardTest.fromFen("4k3/8/8/3p4/4P3/8/8/4K3 w - -")));
+		// passed pawns are rated by their rank as seen from their own color
+		assertEquals(PawnTable.PASSED[6] - PawnTable.ISOLATED,
+				PawnTable.computeScore(BitboardTest.fromFen("4k3/6P1/8/8/8/8/8/4K3 w - -")));
+		assertEquals(PawnTable.ISOLATED - PawnTable.PASSED[1],
+				PawnTable.computeScore(BitboardTest.fromFen("4k3/p7/8/8/8/8/8/4K3 w - -")));
+		// connected pawns are not isolated
+		assertEquals(PawnTable.PASSED[1] * 2,
+				PawnTable.computeScore(BitboardTest.fromFen("4k3/8/8/8/8/8/PP6/4K3 w - -")));
+	}
+
+	@Test
+	void testPassedMax() {
+		// the bonus of eight connected passed pawns on the seventh rank is capped
+		assertEquals(PawnTable.PASSED_MAX,
+				PawnTable.computeScore(BitboardTest.fromFen("k7/PPPPPPPP/8/8/8/8/8/K7 w - -")));
+		assertEquals(-PawnTable.PASSED_MAX,
+				PawnTable.computeScore(BitboardTest.fromFen("k7/8/8/8/8/8/pppppppp/K7 w - -")));
+		// the structure of the opponent still counts on top of two connected passed pawns on the seventh rank
+		assertEquals(PawnTable.PASSED_MAX
+				+ PawnTable.computeScore(BitboardTest.fromFen("k7/8/8/4p3/4p1p1/4p1p1/8/K7 w - -")),
+				PawnTable.computeScore(BitboardTest.fromFen("k7/PP6/8/4p3/4p1p1/4p1p1/8/K7 w - -")));
+	}
+
+	@Test
+	void testMaxScore() {
+		// a maximum bonus against a heavy penalty stays within the bound
+		final int score = PawnTable
+				.computeScore(BitboardTest.fromFen("k7/PPPPPPPP/8/8/p1p1p3/p1p1p3/p1p1p3/K7 w - -"));
+		assertTrue(score > PawnTable.PASSED_MAX);
+		assertTrue(score <= PawnTable.MAX_SCORE);
+	}
+
+	@Test
+	void testCache() {
+		final PawnTable table = new PawnTable(16);
+		final Bitboard bitboard = new Board().getBitboard();
+		assertEquals(0, table.getScore(bitboard));
+		final Bitboard other = BitboardTest.fromFen("4k3/8/8/8/8/P7/P7/4K3 w - -");
+		assertNotEquals(bitboard.getPawnKey(), other.getPawnKey());
+		assertEquals(PawnTable.computeScore(other), table.getScore(other));
+		assertEquals(PawnTable.computeScore(other), table.getScore(other));
+		assertThrows(IllegalArgumentException.class, () -> new PawnTable(0));
+	}
+
+}
@@ -0,0 +1,243 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.saucecode.chessy.core.ParallelMode;
+import com.saucecode.chessy.core.SearchMode;
+
+class SearchExecutorTest {
+
+	/**
+	 * Returns the best move of a position.
+	 *
+	 * @param executor the executor
+	 * @param bitboard the position
+	 * @param ply      number of plies
+	 * @param parallel how to distribute the search
+	 * @param control  tells when to stop
+	 * @return the best move
+	 */
+	private static int search(SearchExecutor executor, Bitboard bitboard, int ply, ParallelMode parallel,
+			SearchControl control) {
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		return executor.search(bitboard, moves, ply, SearchMode.ALPHA_BETA, parallel, new TranspositionTable(1),
+				control, new AtomicInteger(), () -> {
+				}).getMove();
+	}
+
+	@Test
+	void testSearch() {
+		Board board = new Board();
+		board = board.move(5, 1, 5, 2); // f2 f3
+		board = board.move(4, 6, 4, 5); // e7 e6
+		board = board.move(6, 1, 6, 3); // g2 g4
+		for (final int threads : new int[] { 1, 4 }) {
+			final SearchExecutor executor = new SearchExecutor(threads);
+			assertEquals(threads, executor.getThreads());
+			for (final ParallelMode parallel : ParallelMode.values()) {
+				assertEquals("d8h4", Move.toString(
+						search(executor, board.getBitboard(), 3, parallel, new SearchControl(0L))));
+			}
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testDeterministic() {
+		final String[] fens = { "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+				"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -",
+				"r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq -" };
+		final SearchExecutor single = new SearchExecutor(1);
+		final SearchExecutor parallel = new SearchExecutor(8);
+		for (final String fen : fens) {
+			final Bitboard bitboard = BitboardTest.fromFen(fen);
+			final MoveList moves = new MoveList();
+			MoveGenerator.generate(bitboard, moves);
+			for (int ply = 1; ply <= 3; ply++) {
+				final int expected = single.search(bitboard, moves, ply, SearchMode.ALPHA_BETA,
+						ParallelMode.SINGLE_THREADED, null, new SearchControl(0L), new AtomicInteger(), () -> {
+						}).getMove();
+				for (int run = 0; run < 3; run++) {
+					assertEquals(expected, parallel.search(bitboard, moves, ply, SearchMode.ALPHA_BETA,
+							ParallelMode.ROOT_SPLIT, null, new SearchControl(0L), new AtomicInteger(), () -> {
+							}).getMove());
+				}
+				if (ply < 3) {
+					// the full width search is too slow beyond ply 2
+					assertEquals(expected, single.search(bitboard, moves, ply, SearchMode.MINIMAX,
+							ParallelMode.SINGLE_THREADED, null, new SearchControl(0L), new AtomicInteger(), () -> {
+							}).getMove());
+				}
+			}
+		}
+		single.shutdown();
+		parallel.shutdown();
+	}
+
+	@Test
+	void testRootSplitPrincipalVariation() {
+		// every root move is searched with a window, which does not depend on the other threads
+		final String[] fens = { "4k3/8/8/3q4/8/8/3R4/4K3 w - -", "r3k3/8/8/8/8/8/8/R3K3 w - -",
+				"r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq -",
+				"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -" };
+		final SearchExecutor single = new SearchExecutor(1);
+		final SearchExecutor parallel = new SearchExecutor(8);
+		for (final String fen : fens) {
+			final Bitboard bitboard = BitboardTest.fromFen(fen);
+			final MoveList moves = new MoveList();
+			MoveGenerator.generate(bitboard, moves);
+			for (final SearchMode mode : new SearchMode[] { SearchMode.SELECTIVE, SearchMode.PRINCIPAL_VARIATION }) {
+				final SearchResult expected = single.search(bitboard, moves, 4, mode, ParallelMode.SINGLE_THREADED,
+						null, new SearchControl(0L), new AtomicInteger(), () -> {
+						});
+				for (int run = 0; run < 3; run++) {
+					final SearchResult result = parallel.search(bitboard, moves, 4, mode, ParallelMode.ROOT_SPLIT, null,
+							new SearchControl(0L), new AtomicInteger(), () -> {
+							});
+					assertEquals(expected.getMove(), result.getMove());
+					assertEquals(expected.getScore(), result.getScore());
+					assertEquals(result.getMove(), result.getPrincipalVariation()[0]);
+				}
+			}
+		}
+		single.shutdown();
+		parallel.shutdown();
+	}
+
+	@Test
+	void testDeterministicDefault() {
+		// the default setup of a game: iterative deepening by principal variation search with a shared table
+		final String[] fens = { "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+				"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -",
+				"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq -" };
+		final SearchExecutor single = new SearchExecutor(1);
+		final SearchExecutor parallel = new SearchExecutor(8);
+		for (final String fen : fens) {
+			final Bitboard bitboard = BitboardTest.fromFen(fen);
+			final SearchResult expected = Board.deepen(bitboard, 5, new SearchControl(0L), value -> {
+			}, single, ParallelMode.SINGLE_THREADED, SearchMode.PRINCIPAL_VARIATION, new TranspositionTable(16),
+					new AtomicInteger());
+			for (int run = 0; run < 3; run++) {
+				final SearchResult result = Board.deepen(bitboard, 5, new SearchControl(0L), value -> {
+				}, parallel, ParallelMode.ROOT_SPLIT, SearchMode.PRINCIPAL_VARIATION, new TranspositionTable(16),
+						new AtomicInteger());
+				assertEquals(expected.getMove(), result.getMove());
+				assertEquals(expected.getScore(), result.getScore());
+				assertEquals(expected.getDepth(), result.getDepth());
+			}
+		}
+		single.shutdown();
+		parallel.shutdown();
+	}
+
+	@Test
+	void testWindow() {
+		final SearchExecutor executor = new SearchExecutor(2);
+		final Bitboard bitboard = BitboardTest
+				.fromFen("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq -");
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		for (final ParallelMode parallel : ParallelMode.values()) {
+			final SearchResult full = executor.search(bitboard, moves, 3, SearchMode.PRINCIPAL_VARIATION, parallel,
+					null, new SearchControl(0L), new AtomicInteger(), () -> {
+					});
+			final int score = full.getScore();
+			final SearchResult inside = executor.search(bitboard, moves, 3, score - 10, score + 10,
+					SearchMode.PRINCIPAL_VARIATION, parallel, null, new SearchControl(0L), new AtomicInteger(), () -> {
+					});
+			assertEquals(full.getMove(), inside.getMove());
+			assertEquals(score, inside.getScore());
+			final SearchResult low = executor.search(bitboard, moves, 3, score + 10, score + 20,
+					SearchMode.PRINCIPAL_VARIATION, parallel, null, new SearchControl(0L), new AtomicInteger(), () -> {
+					});
+			assertEquals(Move.NONE, low.getMove());
+			final SearchResult high = executor.search(bitboard, moves, 3, score - 20, score - 10,
+					SearchMode.PRINCIPAL_VARIATION, parallel, null, new SearchControl(0L), new AtomicInteger(), () -> {
+					});
+			assertTrue(high.getScore() >= score - 10);
+			assertTrue(bitboard.isLegal(high.getMove()));
+		}
+		executor.shutdown();
+	}
+
+	@Test
+	void testPrincipalVariation() {
+		final SearchExecutor executor = new SearchExecutor(1);
+		final Bitboard bitboard = BitboardTest
+				.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		final SearchResult result = executor.search(bitboard, moves, 4, SearchMode.PRINCIPAL_VARIATION,
+				ParallelMode.SINGLE_THREADED, new TranspositionTable(1), new SearchControl(0L), new AtomicInteger(),
+				() -> {
+				});
+		final int[] line = result.getPrincipalVariation();
+		assertEquals(4, result.getDepth());
+		assertTrue(result.getNodes() > 0L);
+		assertTrue(line.length > 0);
+		assertEquals(result.getMove(), line[0]);
+		final Bitboard copy = new Bitboard(bitboard);
+		for (final int move : line) {
+			assertTrue(MoveGenerator.isPseudoLegal(copy, move));
+			assertTrue(copy.isLegal(move));
+			copy.makeMove(move);
+		}
+		executor.shutdown();
+	}
+
+	@Test
+	void testNodes() {
+		final SearchExecutor executor = new SearchExecutor(4);
+		final Bitboard bitboard = new Board().getBitboard();
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicInteger listened = new AtomicInteger();
+		executor.search(bitboard, moves, 3, SearchMode.MINIMAX, ParallelMode.ROOT_SPLIT, null, new SearchControl(0L),
+				count, listened::incrementAndGet);
+		final Search search = new Search(bitboard, 3, SearchMode.MINIMAX, null, new SearchControl(0L));
+		for (int i = 0; i < moves.size(); i++) {
+			search.searchMove(moves.get(i), 3, -Search.INFINITY, Search.INFINITY);
+		}
+		assertEquals(search.getNodes(), count.get());
+		assertEquals(20, listened.get());
+		executor.shutdown();
+	}
+
+	@Test
+	void testStopped() {
+		final SearchExecutor executor = new SearchExecutor(2);
+		final SearchControl control = new SearchControl(0L);
+		control.cancel();
+		for (final ParallelMode parallel : ParallelMode.values()) {
+			assertEquals(Move.NONE, search(executor, new Board().getBitboard(), 4, parallel, control));
+		}
+		executor.shutdown();
+	}
+
+	@Test
+	void testInvalidThreads() {
+		assertThrows(IllegalArgumentException.class, () -> new SearchExecutor(0));
+	}
+
+	@Test
+	void testChildControl() {
+		final SearchControl parent = new SearchControl(0L);
+		final SearchControl child = new SearchControl(parent);
+		child.cancel();
+		assertTrue(child.isStopped());
+		assertFalse(parent.isStopped());
+		final SearchControl other = new SearchControl(parent);
+		parent.cancel();
+		assertTrue(other.isCancelled());
+	}
+
+}
@@ -0,0 +1,257 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.saucecode.chessy.core.SearchMode;
+
+class SearchTest {
+
+	/**
+	 * Returns the best move of a position by searching every root move.
+	 *
+	 * @param bitboard the position
+	 * @param ply      number of plies
+	 * @return the best move
+	 */
+	private static int best(Bitboard bitboard, int ply) {
+		return best(bitboard, ply, SearchMode.ALPHA_BETA, null);
+	}
+
+	/**
+	 * Returns the best move of a position by searching every root move.
+	 *
+	 * @param bitboard the position
+	 * @param ply      number of plies
+	 * @param mode     the search algorithm
+	 * @param table    the transposition table, or {@code null}
+	 * @return the best move
+	 */
+	private static int best(Bitboard bitboard, int ply, SearchMode mode, TranspositionTable table) {
+		final Search search = new Search(bitboard, ply, mode, table, new SearchControl(0L));
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		int best = Move.NONE;
+		int max = Search.ILLEGAL;
+		for (int i = 0; i < moves.size(); i++) {
+			final int score = search.searchMove(moves.get(i), ply, Math.max(max, -Search.INFINITY), Search.INFINITY);
+			if (score != Search.ILLEGAL && (best == Move.NONE || score > max)) {
+				max = score;
+				best = moves.get(i);
+			}
+		}
+		return best;
+	}
+
+	@Test
+	void testMateInOne() {
+		Board board = new Board();
+		board = board.move(5, 1, 5, 2); // f2 f3
+		board = board.move(4, 6, 4, 5); // e7 e6
+		board = board.move(6, 1, 6, 3); // g2 g4
+		assertEquals("d8h4", Move.toString(best(board.getBitboard(), 1)));
+		assertEquals("d8h4", Move.toString(best(board.getBitboard(), 3)));
+	}
+
+	@Test
+	void testShortestMate() {
+		// most other moves keep a mate in a few moves, so only the distance to the root tells them apart
+		final String[] fens = { "k7/8/1K6/8/8/8/8/Q7 w - -", "7k/8/6K1/8/8/8/8/R7 w - -" };
+		final String[] mates = { "a1a7", "a1a8" };
+		for (int i = 0; i < fens.length; i++) {
+			final Bitboard bitboard = BitboardTest.fromFen(fens[i]);
+			for (final int ply : new int[] { 3, 5 }) {
+				assertEquals(mates[i], Move.toString(best(bitboard, ply, SearchMode.PRINCIPAL_VARIATION, null)));
+				assertEquals(mates[i], Move.toString(
+						best(bitboard, ply, SearchMode.PRINCIPAL_VARIATION, new TranspositionTable(1))));
+				assertEquals(mates[i], Move.toString(best(bitboard, ply, SearchMode.ALPHA_BETA, null)));
+			}
+		}
+	}
+
+	@Test
+	void testCapture() {
+		Board board = new Board();
+		board = board.move(4, 1, 4, 3); // e2 e4
+		board = board.move(4, 6, 4, 4); // e7 e5
+		board = board.move(6, 0, 5, 2); // Ng1 f3
+		board = board.move(3, 7, 7, 3); // Qd8 h4
+		assertEquals("f3h4", Move.toString(best(board.getBitboard(), 1)));
+	}
+
+	@Test
+	void testQuiescence() {
+		// the pawn on d5 is protected, which is only seen by the quiescence search at ply 1
+		final Bitboard bitboard = BitboardTest.fromFen("4k3/8/2p5/3p4/8/8/3Q4/4K3 w - -");
+		assertNotEquals("d2d5", Move.toString(best(bitboard, 1)));
+		assertNotEquals("d2d5", Move.toString(best(bitboard, 1, SearchMode.MINIMAX, null)));
+	}
+
+	/**
+	 * Returns the number of nodes of a minimax search of all root moves.
+	 *
+	 * @param bitboard the position
+	 * @param ply      number of plies
+	 * @return number of nodes
+	 */
+	private static long nodes(Bitboard bitboard, int ply) {
+		final Search search = new Search(bitboard, ply, SearchMode.MINIMAX, null, new SearchControl(0L));
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			search.searchMove(moves.get(i), ply, -Search.INFINITY, Search.INFINITY);
+		}
+		return search.getNodes();
+	}
+
+	@Test
+	void testNodes() {
+		final Bitboard bitboard = new Board().getBitboard();
+		// no captures are possible after the first move
+		assertEquals(20L, nodes(bitboard, 1));
+		// the full tree plus the captures of the quiescence search
+		assertTrue(nodes(bitboard, 3) > 8_902L + 400L + 20L);
+	}
+
+	@Test
+	void testAlphaBetaEqualsMinimax() {
+		final String[] fens = { "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+				"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+				"r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq -" };
+		// the full width search of the first position is too slow beyond ply 2
+		final int[] plies = { 2, 3, 3 };
+		for (int i = 0; i < fens.length; i++) {
+			final Bitboard bitboard = BitboardTest.fromFen(fens[i]);
+			assertEquals(best(bitboard, plies[i], SearchMode.MINIMAX, null),
+					best(bitboard, plies[i], SearchMode.ALPHA_BETA, null));
+		}
+	}
+
+	@Test
+	void testStalemate() {
+		// Qb6 stalemates the lone black king, which is recognized at the nominal depth
+		final Bitboard bitboard = BitboardTest.fromFen("k7/2K5/8/8/8/8/8/1Q6 w - -");
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		final Search search = new Search(bitboard, 1, SearchMode.ALPHA_BETA, null, new SearchControl(0L));
+		for (int i = 0; i < moves.size(); i++) {
+			if (Move.toString(moves.get(i)).equals("b1b6")) {
+				assertEquals(0, search.searchMove(moves.get(i), 1, -Search.INFINITY, Search.INFINITY));
+			}
+		}
+		assertNotEquals("b1b6", Move.toString(best(bitboard, 1)));
+	}
+
+	@Test
+	void testTranspositionTable() {
+		final Bitboard bitboard = BitboardTest.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+		final TranspositionTable table = new TranspositionTable(1);
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		final Search plain = new Search(bitboard, 4, SearchMode.ALPHA_BETA, null, new SearchControl(0L));
+		final Search hashed = new Search(bitboard, 4, SearchMode.ALPHA_BETA, table, new SearchControl(0L));
+		for (int i = 0; i < moves.size(); i++) {
+			assertEquals(plain.searchMove(moves.get(i), 4, -Search.INFINITY, Search.INFINITY),
+					hashed.searchMove(moves.get(i), 4, -Search.INFINITY, Search.INFINITY));
+		}
+		assertTrue(hashed.getNodes() < plain.getNodes());
+	}
+
+	@Test
+	void testSelective() {
+		Board board = new Board();
+		board = board.move(5, 1, 5, 2); // f2 f3
+		board = board.move(4, 6, 4, 5); // e7 e6
+		board = board.move(6, 1, 6, 3); // g2 g4
+		assertEquals("d8h4", Move.toString(best(board.getBitboard(), 5, SearchMode.SELECTIVE, null)));
+		final Bitboard bitboard = BitboardTest.fromFen("4k3/8/2p5/3p4/8/8/3Q4/4K3 w - -");
+		assertNotEquals("d2d5", Move.toString(best(bitboard, 5, SearchMode.SELECTIVE, null)));
+	}
+
+	@Test
+	void testCheckExtension() {
+		// Re8+ Rxe8 Rxe8 is checkmate, which is only seen at ply 2 if the checks are extended
+		final Bitboard bitboard = BitboardTest.fromFen("2r3k1/5ppp/8/8/8/8/4R3/4R1K1 w - -");
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		int check = Move.NONE;
+		for (int i = 0; i < moves.size(); i++) {
+			if (Move.toString(moves.get(i)).equals("e2e8")) {
+				check = moves.get(i);
+			}
+		}
+		final Search selective = new Search(bitboard, 2, SearchMode.SELECTIVE, null, new SearchControl(0L));
+		final Search full = new Search(bitboard, 2, SearchMode.ALPHA_BETA, null, new SearchControl(0L));
+		assertEquals(Board.CHECKMATE_SCORE - 3, selective.searchMove(check, 2, -Search.INFINITY, Search.INFINITY));
+		assertFalse(Search.isMate(full.searchMove(check, 2, -Search.INFINITY, Search.INFINITY)));
+		assertEquals("e2e8", Move.toString(best(bitboard, 2, SearchMode.SELECTIVE, null)));
+	}
+
+	@Test
+	void testSelectiveNodes() {
+		final Bitboard bitboard = BitboardTest
+				.fromFen("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq -");
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		final Search full = new Search(bitboard, 5, SearchMode.ALPHA_BETA, new TranspositionTable(1),
+				new SearchControl(0L));
+		final Search selective = new Search(bitboard, 5, SearchMode.SELECTIVE, new TranspositionTable(1),
+				new SearchControl(0L));
+		for (int i = 0; i < moves.size(); i++) {
+			full.searchMove(moves.get(i), 5, -Search.INFINITY, Search.INFINITY);
+			selective.searchMove(moves.get(i), 5, -Search.INFINITY, Search.INFINITY);
+		}
+		assertTrue(selective.getNodes() < full.getNodes());
+	}
+
+	@Test
+	void testReset() {
+		final Bitboard bitboard = BitboardTest.fromFen("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq -");
+		final Bitboard other = BitboardTest.fromFen("4k3/8/2p5/3p4/8/8/3Q4/4K3 w - -");
+		final Search reused = new Search(other, 4, SearchMode.ALPHA_BETA, null, new SearchControl(0L));
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(other, moves);
+		reused.searchMove(moves.get(0), 4, -Search.INFINITY, Search.INFINITY);
+		assertTrue(reused.fits(3, SearchMode.ALPHA_BETA, null));
+		assertFalse(reused.fits(5, SearchMode.ALPHA_BETA, null));
+		assertFalse(reused.fits(3, SearchMode.SELECTIVE, null));
+		MoveGenerator.generate(bitboard, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			final Search fresh = new Search(bitboard, 3, SearchMode.ALPHA_BETA, null, new SearchControl(0L));
+			reused.reset(bitboard, new SearchControl(0L));
+			assertEquals(fresh.searchMove(moves.get(i), 3, -Search.INFINITY, Search.INFINITY),
+					reused.searchMove(moves.get(i), 3, -Search.INFINITY, Search.INFINITY));
+		}
+	}
+
+	@Test
+	void testCancel() {
+		final Bitboard bitboard = new Board().getBitboard();
+		final SearchControl control = new SearchControl(0L);
+		final Search search = new Search(bitboard, 5, SearchMode.MINIMAX, null, control);
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		control.cancel();
+		search.searchMove(moves.get(0), 5, -Search.INFINITY, Search.INFINITY);
+		assertTrue(search.isAborted());
+		assertTrue(search.getNodes() < 10L);
+	}
+
+	@Test
+	void testDeadline() {
+		final Bitboard bitboard = BitboardTest.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+		final Search search = new Search(bitboard, 6, SearchMode.MINIMAX, null,
+				new SearchControl(System.currentTimeMillis() + 50L));
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		final long start = System.currentTimeMillis();
+		search.searchMove(moves.get(0), 6, -Search.INFINITY, Search.INFINITY);
+		assertTrue(search.isAborted());
+		assertTrue(System.currentTimeMillis() - start < 1_000L);
+	}
+
+}
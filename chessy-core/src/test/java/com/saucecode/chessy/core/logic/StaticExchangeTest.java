@@ -0,0 +1,72 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.saucecode.chessy.core.figures.Knight;
+import com.saucecode.chessy.core.figures.Pawn;
+import com.saucecode.chessy.core.figures.Queen;
+import com.saucecode.chessy.core.figures.Rook;
+
+class StaticExchangeTest {
+
+	/**
+	 * Returns the static exchange evaluation of a move given by its squares.
+	 *
+	 * @param fen  the position
+	 * @param move the move, like {@code "e2e4"}
+	 * @return the material balance of the exchange
+	 */
+	private static int evaluate(String fen, String move) {
+		final Bitboard bitboard = BitboardTest.fromFen(fen);
+		final MoveList moves = new MoveList();
+		MoveGenerator.generate(bitboard, moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (Move.toString(moves.get(i)).equals(move)) {
+				return StaticExchange.evaluate(bitboard, moves.get(i));
+			}
+		}
+		throw new IllegalArgumentException("no such move");
+	}
+
+	@Test
+	void testUndefended() {
+		assertEquals(Pawn.VALUE, evaluate("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - -", "e1e5"));
+	}
+
+	@Test
+	void testExchange() {
+		// the knight takes the pawn, but is lost, as the black queen supports the bishop from behind
+		assertEquals(Pawn.VALUE - Knight.VALUE,
+				evaluate("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - -", "d3e5"));
+	}
+
+	@Test
+	void testXRay() {
+		assertEquals(Pawn.VALUE, evaluate("4k3/3r4/8/3p4/8/8/3R4/3RK3 w - -", "d2d5"));
+		assertEquals(Pawn.VALUE - Rook.VALUE, evaluate("4k3/3r4/8/3p4/8/8/3R4/4K3 w - -", "d2d5"));
+	}
+
+	@Test
+	void testPromotion() {
+		assertEquals(Queen.VALUE - Pawn.VALUE, evaluate("4k3/1P6/8/8/8/8/8/4K3 w - -", "b7b8"));
+		assertEquals(-Pawn.VALUE, evaluate("1r2k3/P7/8/8/8/8/8/4K3 w - -", "a7a8"));
+	}
+
+	@Test
+	void testQuiescencePicker() {
+		final Bitboard bitboard = BitboardTest.fromFen("4k3/3r4/8/3p4/8/8/3R4/4K3 w - -");
+		final MovePicker picker = new MovePicker(bitboard, new MoveOrder(1));
+		// the only capture loses material, so it is skipped
+		picker.initCaptures();
+		assertEquals(Move.NONE, picker.next());
+		picker.init(Move.NONE, 1);
+		int last = Move.NONE;
+		for (int move = picker.next(); move != Move.NONE; move = picker.next()) {
+			last = move;
+		}
+		assertEquals("d2d5", Move.toString(last));
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.saucecode.chessy.core.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class TranspositionTableTest {
+
+	@Test
+	void testStoreAndProbe() {
+		final TranspositionTable table = new TranspositionTable(1);
+		final long key = 0x123456789ABCDEFL;
+		final int move = Move.create(12, 28, Bitboard.piece(Bitboard.WHITE, Bitboard.PAWN), Bitboard.NO_PIECE,
+				Move.DOUBLE_PUSH);
+		assertEquals(TranspositionTable.MISS, table.probe(key));
+		table.store(key, 5, TranspositionTable.LOWER, -1234, move);
+		final long entry = table.probe(key);
+		assertEquals(move, TranspositionTable.getMove(entry));
+		assertEquals(TranspositionTable.LOWER, TranspositionTable.getBound(entry));
+		assertEquals(5, TranspositionTable.getDepth(entry));
+		assertEquals(-1234, TranspositionTable.getScore(entry));
+		assertEquals(TranspositionTable.MISS, table.probe(key ^ (1L << 40)));
+		table.clear();
+		assertEquals(TranspositionTable.MISS, table.probe(key));
+	}
+
+	@Test
+	void testReplacement() {
+		final TranspositionTable table = new TranspositionTable(1);
+		final long key = 42L;
+		table.store(key, 4, TranspositionTable.EXACT, Board.CHECKMATE_SCORE, Move.NONE);
+		table.store(key, 2, TranspositionTable.UPPER, 7, Move.NONE);
+		assertEquals(4, TranspositionTable.getDepth(table.probe(key)));
+		assertEquals(Board.CHECKMATE_SCORE, TranspositionTable.getScore(table.probe(key)));
+		table.store(key, 4, TranspositionTable.UPPER, -Board.CHECKMATE_SCORE, Move.NONE);
+		assertEquals(-Board.CHECKMATE_SCORE, TranspositionTable.getScore(table.probe(key)));
+		// a different position in the same slot always replaces
+		final long other = key + (1L << 50);
+		table.store(other, 1, TranspositionTable.EXACT, 3, Move.NONE);
+		assertEquals(TranspositionTable.MISS, table.probe(key));
+		assertEquals(3, TranspositionTable.getScore(table.probe(other)));
+	}
+
+	@Test
+	void testInvalidSize() {
+		assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+	}
+
+}
@@ -1,12 +1,17 @@
 package com.saucecode.chessy.gui;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import com.saucecode.chessy.core.FieldI;
 import com.saucecode.chessy.core.FigureType;
 import com.saucecode.chessy.core.Game;
 import com.saucecode.chessy.core.GameI;
+import com.saucecode.chessy.core.ParallelMode;
+import com.saucecode.chessy.core.Player;
 import com.saucecode.chessy.core.Position;
+import com.saucecode.chessy.core.SearchMode;
 
 import javafx.application.Application;
 import javafx.application.Platform;
@@ -44,6 +49,11 @@ import javafx.stage.WindowEvent;
  */
 public class GUI extends Application {
 
+	/**
+	 * Selectable times per move in milliseconds.
+	 */
+	private static final int[] TIMES_PER_MOVE = { 1_000, 2_000, 5_000, 10_000, 30_000, 0 };
+
 	/**
 	 * The game.
 	 */
@@ -104,11 +114,56 @@ public class GUI extends Application {
 		});
 		items[game.aiBlackPlyProperty().get() - 1].setSelected(true);
 
-		final CheckMenuItem multiThreaded = new CheckMenuItem("_Multi-Threading");
-		multiThreaded.selectedProperty().set(game.multiThreadedProperty().get());
-		game.multiThreadedProperty().bind(multiThreaded.selectedProperty());
+		final Menu menuThreads = new Menu("_Threads");
+		final ToggleGroup groupParallel = new ToggleGroup();
+		for (final ParallelMode mode : ParallelMode.values()) {
+			final RadioMenuItem item = new RadioMenuItem(mode.toString());
+			item.disableProperty().bind(game.busyProperty());
+			item.setToggleGroup(groupParallel);
+			item.setSelected(mode == game.parallelModeProperty().get());
+			item.setOnAction(e -> game.parallelModeProperty().set(mode));
+			menuThreads.getItems().add(item);
+		}
+		menuThreads.getItems().add(new SeparatorMenuItem());
+		final ToggleGroup groupThreads = new ToggleGroup();
+		// powers of two up to the number of available processors
+		final List<Integer> threadCounts = new ArrayList<>();
+		for (int threads = GameI.THREADS_MIN; threads < GameI.THREADS_STD; threads *= 2) {
+			threadCounts.add(threads);
+		}
+		threadCounts.add(GameI.THREADS_STD);
+		for (final int threads : threadCounts) {
+			final RadioMenuItem item = new RadioMenuItem(Integer.toString(threads));
+			item.disableProperty().bind(game.busyProperty());
+			item.setToggleGroup(groupThreads);
+			item.setSelected(threads == game.threadsProperty().get());
+			item.setOnAction(e -> game.threadsProperty().set(threads));
+			menuThreads.getItems().add(item);
+		}
+
+		final Menu menuSearch = new Menu("_Search");
+		final ToggleGroup groupSearch = new ToggleGroup();
+		for (final SearchMode mode : SearchMode.values()) {
+			final RadioMenuItem item = new RadioMenuItem(mode.toString());
+			item.disableProperty().bind(game.busyProperty());
+			item.setToggleGroup(groupSearch);
+			item.setSelected(mode == game.searchModeProperty().get());
+			item.setOnAction(e -> game.searchModeProperty().set(mode));
+			menuSearch.getItems().add(item);
+		}
 
-		return new Menu("_Settings", null, ai, multiThreaded, menuPly);
+		final Menu menuTime = new Menu("_Time per Move");
+		final ToggleGroup groupTime = new ToggleGroup();
+		for (final int time : TIMES_PER_MOVE) {
+			final RadioMenuItem item = new RadioMenuItem((time == 0) ? "Unlimited" : (time / 1_000) + " s");
+			item.disableProperty().bind(game.busyProperty());
+			item.setToggleGroup(groupTime);
+			item.setSelected(time == game.timePerMoveProperty().get());
+			item.setOnAction(e -> game.timePerMoveProperty().set(time));
+			menuTime.getItems().add(item);
+		}
+
+		return new Menu("_Settings", null, ai, menuThreads, menuPly, menuTime, menuSearch);
 	}
 
 	/**
@@ -121,10 +176,11 @@ public class GUI extends Application {
 		undo.disableProperty().bind(game.undoEnabledProperty().not());
 		undo.setAccelerator(KeyCombination.keyCombination("Ctrl + Z"));
 		undo.setOnAction(e -> {
-			if (game.aiBlackActiveProperty().get()) {
+			game.undo();
+			// if the A.I. operation has already made its move, the own move has to be undone as well
+			if (game.aiBlackActiveProperty().get() && game.getCurrentPlayer() == Player.BLACK) {
 				game.undo();
 			}
-			game.undo();
 		});
 
 		return new Menu("_Edit", null, undo);
@@ -385,6 +441,11 @@ public class GUI extends Application {
 		primaryStage.show();
 	}
 
+	@Override
+	public void stop() {
+		game.stop();
+	}
+
 	/**
 	 * Sets the properties of the grid.
 	 */